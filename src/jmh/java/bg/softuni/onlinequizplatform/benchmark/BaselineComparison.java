@@ -0,0 +1,87 @@
+package bg.softuni.onlinequizplatform.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result against a baseline result and exits with status 1 when any benchmark
+ * lost more than the allowed fraction of its throughput.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <result.json> <max-regression>}, e.g. {@code 0.10} for 10%.
+ */
+public class BaselineComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> <max-regression>");
+            System.exit(2);
+        }
+
+        Path baselinePath = Path.of(args[0]);
+        if (!Files.exists(baselinePath)) {
+            System.err.println("No baseline at " + baselinePath + ", copy a result file there to create one");
+            System.exit(2);
+        }
+
+        Map<String, Score> baseline = read(baselinePath);
+        Map<String, Score> current = read(Path.of(args[1]));
+        double maxRegression = Double.parseDouble(args[2]);
+        int regressions = 0;
+
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW   %s %.3f %s%n", entry.getKey(), entry.getValue().value(), entry.getValue().unit());
+                continue;
+            }
+
+            double change = entry.getValue().throughputChange(before);
+            boolean regressed = change < -maxRegression;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%s %s %.3f -> %.3f %s (%+.1f%% throughput)%n", regressed ? "SLOWER" : "OK    ",
+                    entry.getKey(), before.value(), entry.getValue().value(), entry.getValue().unit(), change * 100);
+        }
+
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.println("GONE  " + key));
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) lost more than %.0f%% throughput%n", regressions, maxRegression * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path path) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+
+        for (JsonNode run : new ObjectMapper().readTree(path.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(run.path("benchmark").asText() + params,
+                    new Score(run.path("mode").asText(), metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+
+        return scores;
+    }
+
+    private record Score(String mode, double value, String unit) {
+
+        // Only throughput mode reports operations per time unit, every other mode reports time per operation.
+        double throughputChange(Score baseline) {
+            double ratio = "thrpt".equals(mode) ? value / baseline.value : baseline.value / value;
+            return ratio - 1;
+        }
+    }
+}
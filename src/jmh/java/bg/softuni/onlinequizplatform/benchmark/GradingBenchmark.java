@@ -0,0 +1,100 @@
+package bg.softuni.onlinequizplatform.benchmark;
+
+import bg.softuni.onlinequizplatform.model.AnswerKey;
+import bg.softuni.onlinequizplatform.model.CompiledOption;
+import bg.softuni.onlinequizplatform.model.CompiledQuestion;
+import bg.softuni.onlinequizplatform.service.QuizGrader;
+import bg.softuni.onlinequizplatform.web.dto.NewQuizRequest;
+import bg.softuni.onlinequizplatform.web.dto.QuestionOptionRequest;
+import bg.softuni.onlinequizplatform.web.dto.QuestionRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GradingBenchmark {
+    private static final int OPTIONS_PER_QUESTION = 4;
+    private static final int QUIZ_SCORE = 1000;
+
+    @Param({"10", "100", "1000"})
+    private int questionCount;
+
+    private NewQuizRequest submission;
+    private AnswerKey answerKey;
+    private Set<UUID> correctOptionIds;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<CompiledQuestion> compiledQuestions = new ArrayList<>(questionCount);
+        List<QuestionRequest> questionRequests = new ArrayList<>(questionCount);
+        correctOptionIds = new HashSet<>();
+
+        for (int i = 0; i < questionCount; i++) {
+            int correctIndex = random.nextInt(OPTIONS_PER_QUESTION);
+            int selectedIndex = random.nextInt(OPTIONS_PER_QUESTION);
+            List<CompiledOption> compiledOptions = new ArrayList<>(OPTIONS_PER_QUESTION);
+            List<QuestionOptionRequest> optionRequests = new ArrayList<>(OPTIONS_PER_QUESTION);
+
+            for (int j = 0; j < OPTIONS_PER_QUESTION; j++) {
+                UUID optionId = UUID.randomUUID();
+                boolean correct = j == correctIndex;
+                compiledOptions.add(CompiledOption.builder().id(optionId).text("Option " + j).correct(correct).build());
+                optionRequests.add(new QuestionOptionRequest(optionId, "Option " + j, correct, j == selectedIndex));
+                if (correct) {
+                    correctOptionIds.add(optionId);
+                }
+            }
+
+            UUID questionId = UUID.randomUUID();
+            compiledQuestions.add(CompiledQuestion.builder().id(questionId).name("Question " + i).options(compiledOptions).build());
+            questionRequests.add(QuestionRequest.builder().id(questionId).name("Question " + i).options(optionRequests).build());
+        }
+
+        answerKey = AnswerKey.of(QUIZ_SCORE, compiledQuestions);
+        submission = NewQuizRequest.builder().score(QUIZ_SCORE).questions(questionRequests).build();
+    }
+
+    /**
+     * The original grading loop, which trusted the posted isCorrect flags.
+     */
+    @Benchmark
+    public int postedFlagsLoop() {
+        int correctAnswers = 0;
+        for (QuestionRequest questionRequest : submission.getQuestions()) {
+            for (QuestionOptionRequest option : questionRequest.getOptions()) {
+                if (option.getIsCorrect() && option.getIsSelected()) {
+                    correctAnswers++;
+                }
+            }
+        }
+
+        return (submission.getScore() / submission.getQuestions().size()) * correctAnswers;
+    }
+
+    /**
+     * Snapshot grading by set membership of the selected option ids.
+     */
+    @Benchmark
+    public int correctOptionSetLoop() {
+        int correctAnswers = 0;
+        for (QuestionRequest questionRequest : submission.getQuestions()) {
+            for (QuestionOptionRequest option : questionRequest.getOptions()) {
+                if (Boolean.TRUE.equals(option.getIsSelected()) && correctOptionIds.contains(option.getId())) {
+                    correctAnswers++;
+                    break;
+                }
+            }
+        }
+
+        return (QUIZ_SCORE / questionCount) * Math.min(correctAnswers, questionCount);
+    }
+
+    @Benchmark
+    public int answerKey() {
+        return QuizGrader.grade(answerKey, submission.getQuestions());
+    }
+}
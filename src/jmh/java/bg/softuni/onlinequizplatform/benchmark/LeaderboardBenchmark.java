@@ -0,0 +1,86 @@
+package bg.softuni.onlinequizplatform.benchmark;
+
+import bg.softuni.onlinequizplatform.model.RankedScore;
+import bg.softuni.onlinequizplatform.service.RankedScoreIndex;
+import bg.softuni.onlinequizplatform.service.UserService;
+import bg.softuni.onlinequizplatform.web.dto.UserScoreResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LeaderboardBenchmark {
+    private static final int TOP_LIMIT = 10;
+    private static final int NEIGHBOUR_RADIUS = 2;
+
+    @Param({"100", "10000", "100000"})
+    private int userCount;
+
+    // getScoresAfterTopThree touches none of the collaborators.
+    private final UserService userService = new UserService(null, null, null, null, null, null, null, null, null);
+    private final RankedScoreIndex rankedScoreIndex = new RankedScoreIndex();
+    private List<UserScoreResponse> topScores;
+    private UUID[] userIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<RankedScore> scores = new ArrayList<>(userCount);
+        userIds = new UUID[userCount];
+
+        for (int i = 0; i < userCount; i++) {
+            userIds[i] = UUID.randomUUID();
+            scores.add(RankedScore.builder()
+                    .userId(userIds[i])
+                    .username("user" + i)
+                    .avatarUrl("avatar.png")
+                    .score(random.nextInt(100_000))
+                    .build());
+        }
+        rankedScoreIndex.replaceAll(scores);
+
+        topScores = new ArrayList<>(TOP_LIMIT);
+        for (RankedScore score : rankedScoreIndex.top(TOP_LIMIT)) {
+            topScores.add(UserScoreResponse.builder()
+                    .userId(score.getUserId())
+                    .username(score.getUsername())
+                    .avatarUrl(score.getAvatarUrl())
+                    .score(score.getScore())
+                    .updatedOn(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    private UUID nextUserId() {
+        next = next + 1 == userIds.length ? 0 : next + 1;
+        return userIds[next];
+    }
+
+    @Benchmark
+    public List<UserScoreResponse> scoresAfterTopThree() {
+        return userService.getScoresAfterTopThree(topScores);
+    }
+
+    @Benchmark
+    public List<RankedScore> top() {
+        return rankedScoreIndex.top(TOP_LIMIT);
+    }
+
+    @Benchmark
+    public int rankOf() {
+        return rankedScoreIndex.rankOf(nextUserId());
+    }
+
+    @Benchmark
+    public List<RankedScore> neighbours() {
+        return rankedScoreIndex.around(nextUserId(), NEIGHBOUR_RADIUS);
+    }
+}
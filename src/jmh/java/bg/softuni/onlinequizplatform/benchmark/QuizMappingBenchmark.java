@@ -0,0 +1,121 @@
+package bg.softuni.onlinequizplatform.benchmark;
+
+import bg.softuni.onlinequizplatform.model.AnswerKey;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.CompiledOption;
+import bg.softuni.onlinequizplatform.model.CompiledQuestion;
+import bg.softuni.onlinequizplatform.model.CompiledQuiz;
+import bg.softuni.onlinequizplatform.model.Question;
+import bg.softuni.onlinequizplatform.model.QuestionOption;
+import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.web.dto.DtoMapperQuiz;
+import bg.softuni.onlinequizplatform.web.dto.NewQuizRequest;
+import bg.softuni.onlinequizplatform.web.dto.QuestionOptionRequest;
+import bg.softuni.onlinequizplatform.web.dto.QuestionRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QuizMappingBenchmark {
+    private static final int QUIZ_SCORE = 1000;
+
+    @Param({"10", "100", "1000"})
+    private int questionCount;
+
+    @Param({"4"})
+    private int optionsPerQuestion;
+
+    private final DtoMapperQuiz dtoMapperQuiz = new DtoMapperQuiz();
+    private CompiledQuiz compiledQuiz;
+    private NewQuizRequest newQuizRequest;
+
+    @Setup
+    public void setUp() {
+        List<CompiledQuestion> questions = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            List<CompiledOption> options = new ArrayList<>(optionsPerQuestion);
+            for (int j = 0; j < optionsPerQuestion; j++) {
+                options.add(CompiledOption.builder().id(UUID.randomUUID()).text("Option " + j).correct(j == 0).build());
+            }
+            questions.add(CompiledQuestion.builder().id(UUID.randomUUID()).name("Question " + i).options(List.copyOf(options)).build());
+        }
+
+        compiledQuiz = CompiledQuiz.builder()
+                .id(UUID.randomUUID())
+                .name("Benchmark quiz")
+                .description("Generated for benchmarking")
+                .imageUrl("https://example.com/quiz.png")
+                .category(Category.GEOGRAPHY)
+                .score(QUIZ_SCORE)
+                .version(LocalDateTime.now())
+                .questions(List.copyOf(questions))
+                .answerKey(AnswerKey.of(QUIZ_SCORE, questions))
+                .build();
+
+        // What the create form posts: the same quiz with the correct flags set.
+        List<QuestionRequest> questionRequests = new ArrayList<>(questionCount);
+        for (CompiledQuestion question : questions) {
+            questionRequests.add(QuestionRequest.builder()
+                    .name(question.getName())
+                    .options(question.getOptions().stream()
+                            .map(option -> QuestionOptionRequest.builder().text(option.getText()).isCorrect(option.isCorrect()).build())
+                            .toList())
+                    .build());
+        }
+        newQuizRequest = NewQuizRequest.builder()
+                .name(compiledQuiz.getName())
+                .description(compiledQuiz.getDescription())
+                .imageUrl(compiledQuiz.getImageUrl())
+                .category(compiledQuiz.getCategory())
+                .score(QUIZ_SCORE)
+                .questions(questionRequests)
+                .build();
+    }
+
+    @Benchmark
+    public NewQuizRequest compiledQuizToRequest() {
+        return dtoMapperQuiz.fromCompiledQuizToNewQuizRequest(compiledQuiz);
+    }
+
+    /**
+     * The entity graph QuizService.createNewQuiz builds before handing it to the repositories.
+     */
+    @Benchmark
+    public void quizCreationEntities(Blackhole blackhole) {
+        LocalDateTime now = LocalDateTime.now();
+        Quiz quiz = Quiz.builder()
+                .name(newQuizRequest.getName())
+                .imageUrl(newQuizRequest.getImageUrl())
+                .category(newQuizRequest.getCategory())
+                .score(newQuizRequest.getScore())
+                .description(newQuizRequest.getDescription())
+                .createdOn(now)
+                .updatedOn(now)
+                .build();
+        blackhole.consume(quiz);
+
+        for (QuestionRequest questionRequest : newQuizRequest.getQuestions()) {
+            Question question = Question.builder()
+                    .name(questionRequest.getName())
+                    .quiz(quiz)
+                    .build();
+            blackhole.consume(question);
+
+            for (QuestionOptionRequest optionRequest : questionRequest.getOptions()) {
+                blackhole.consume(QuestionOption.builder()
+                        .text(optionRequest.getText())
+                        .isCorrect(optionRequest.getIsCorrect())
+                        .question(question)
+                        .build());
+            }
+        }
+    }
+}
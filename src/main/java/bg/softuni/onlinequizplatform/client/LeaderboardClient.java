@@ -8,7 +8,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.UUID;
 
-@FeignClient(name = "leaderboard-service", url = "http://localhost:8081")
+@FeignClient(name = "leaderboard-service", url = "${leaderboard.url:http://localhost:8081}")
 public interface LeaderboardClient {
 
     @PutMapping("/api/scores/v1/{id}")
@@ -1,15 +1,26 @@
 package bg.softuni.onlinequizplatform.config;
 
+import bg.softuni.onlinequizplatform.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class BeanConfiguration {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${password.bcrypt.strength:10}") int strength,
+                                           @Value("${password.hashing.threads:2}") int threads,
+                                           @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${password.hashing.wait-timeout-ms:5000}") long waitTimeoutMs,
+                                           @Value("${password.hashing.retry-after-seconds:5}") long retryAfterSeconds) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity,
+                Duration.ofMillis(waitTimeoutMs), retryAfterSeconds, meterRegistry);
     }
 }
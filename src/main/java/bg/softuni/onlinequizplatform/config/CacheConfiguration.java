@@ -0,0 +1,20 @@
+package bg.softuni.onlinequizplatform.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfiguration {
+    public static final String QUIZZES_BY_CATEGORY = "quizzesByCategory";
+
+    @Bean
+    public CaffeineCacheManager cacheManager(@Value("${cache.default.spec:maximumSize=1000,expireAfterWrite=10m}") String defaultSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(defaultSpec).recordStats());
+
+        return cacheManager;
+    }
+}
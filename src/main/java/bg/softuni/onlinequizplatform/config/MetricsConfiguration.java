@@ -0,0 +1,28 @@
+package bg.softuni.onlinequizplatform.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> cacheMetricsBinder(CaffeineCacheManager cacheManager,
+                                                                        CacheMetricsRegistrar cacheMetricsRegistrar) {
+        // Services register their caches while the context starts, some after Boot has bound the manager's caches.
+        return event -> cacheManager.getCacheNames().forEach(name ->
+                cacheMetricsRegistrar.bindCacheToRegistry(cacheManager.getCache(name), Tag.of("cache.manager", "cacheManager")));
+    }
+}
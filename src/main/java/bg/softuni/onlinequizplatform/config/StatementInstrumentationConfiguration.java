@@ -0,0 +1,64 @@
+package bg.softuni.onlinequizplatform.config;
+
+import bg.softuni.onlinequizplatform.monitoring.RepositoryInvocationTracker;
+import bg.softuni.onlinequizplatform.monitoring.RequestStatementFilter;
+import bg.softuni.onlinequizplatform.monitoring.StatementMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class StatementInstrumentationConfiguration {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor(ObjectProvider<StatementMetricsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryInvocationTrackingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // Repositories are created in afterPropertiesSet, so the advice has to be registered before that.
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(new RepositoryInvocationTracker(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestStatementFilter> requestStatementFilter(MeterRegistry meterRegistry,
+                                                                                 @Value("${monitoring.statements.repeat-threshold:10}") int repeatThreshold) {
+        FilterRegistrationBean<RequestStatementFilter> registration =
+                new FilterRegistrationBean<>(new RequestStatementFilter(meterRegistry, repeatThreshold));
+        // Ahead of the security filters, so statements issued while authenticating count towards the request.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,31 @@
+package bg.softuni.onlinequizplatform.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ThreadingConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfiguration.class);
+    private static final int FIRST_VIRTUAL_THREADS_RELEASE = 21;
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> threadingModeReporter(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        return event -> {
+            int javaRelease = Runtime.version().feature();
+            if (!virtualThreadsEnabled) {
+                logger.info("Requests, scheduled jobs and async tasks run on platform threads");
+            } else if (javaRelease >= FIRST_VIRTUAL_THREADS_RELEASE) {
+                logger.info("Requests, scheduled jobs and async tasks run on virtual threads");
+            } else {
+                // Spring Boot silently falls back to platform threads, which would make a load test comparison meaningless.
+                logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads, build with -Pjava21 and run on Java 21+",
+                        javaRelease);
+            }
+        };
+    }
+}
@@ -131,7 +131,6 @@ public class DataInitializer {
         quiz.setDescription(description);
         quiz.setImageUrl("https://media.istockphoto.com/id/1186386668/vector/quiz-in-comic-pop-art-style-quiz-brainy-game-word-vector-illustration-design.jpg?s=612x612&w=0&k=20&c=mBQMqQ6kZuC9ZyuV5_uCm80QspqSJ7vRm0MfwL3KLZY=");
         quiz.setScore(100);
-        quiz.setEarnedScore(0);
         quiz.setUser(owner);
         quiz.setCreatedOn(now);
         quiz.setUpdatedOn(now);
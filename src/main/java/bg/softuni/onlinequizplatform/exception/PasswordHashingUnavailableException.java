@@ -0,0 +1,14 @@
+package bg.softuni.onlinequizplatform.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,39 +1,45 @@
 package bg.softuni.onlinequizplatform.job;
 
-import bg.softuni.onlinequizplatform.model.User;
-import bg.softuni.onlinequizplatform.model.UserRole;
 import bg.softuni.onlinequizplatform.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Component
 public class DailyBonusScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(DailyBonusScheduler.class);
     private static final Integer DAILY_BONUS_POINTS = 10;
 
     private final UserService userService;
+    private final Timer runTimer;
+    private final Counter rewardedUsers;
 
-    public DailyBonusScheduler(UserService userService) {
+    public DailyBonusScheduler(UserService userService, MeterRegistry meterRegistry) {
         this.userService = userService;
+        this.runTimer = Timer.builder("daily.bonus.duration")
+                .description("Time taken by a daily bonus run")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rewardedUsers = Counter.builder("daily.bonus.users")
+                .description("Users who received the daily bonus")
+                .register(meterRegistry);
     }
 
     @Scheduled(fixedDelay = 24 * 60 * 60 * 1000)
     public void giveDailyBonusToActiveUsers() {
-        List<User> allUsers = userService.getAllUsers();
         LocalDateTime pastDay = LocalDateTime.now().minusDays(1);
 
-        for (User user : allUsers) {
-            if (user.getUpdatedOn().isAfter(pastDay)) {
-                user.setScore(user.getScore() + DAILY_BONUS_POINTS);
-                user.setUpdatedOn(LocalDateTime.now());
-                user.setLevel(user.getScore() / 1000 + 1);
-                if (user.getScore() > 10000 && user.getRole() != UserRole.ADMIN && user.getRole() != UserRole.QUIZMASTER) {
-                    user.setRole(UserRole.QUIZMASTER);
-                }
-                userService.save(user);
-            }
-        }
+        Timer.Sample sample = Timer.start();
+        int updatedUsers = userService.addBonusToUsersActiveSince(DAILY_BONUS_POINTS, pastDay);
+        long elapsedNanos = sample.stop(runTimer);
+
+        rewardedUsers.increment(updatedUsers);
+        logger.info("Daily bonus of {} points given to {} users in {} ms", DAILY_BONUS_POINTS, updatedUsers, elapsedNanos / 1_000_000);
     }
 }
@@ -0,0 +1,29 @@
+package bg.softuni.onlinequizplatform.job;
+
+import bg.softuni.onlinequizplatform.model.LeaderboardOutboxEvent;
+import bg.softuni.onlinequizplatform.service.LeaderboardOutboxService;
+import bg.softuni.onlinequizplatform.service.LeaderboardScoreDispatcher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class LeaderboardOutboxRelay {
+    private final LeaderboardOutboxService leaderboardOutboxService;
+    private final LeaderboardScoreDispatcher leaderboardScoreDispatcher;
+
+    public LeaderboardOutboxRelay(LeaderboardOutboxService leaderboardOutboxService, LeaderboardScoreDispatcher leaderboardScoreDispatcher) {
+        this.leaderboardOutboxService = leaderboardOutboxService;
+        this.leaderboardScoreDispatcher = leaderboardScoreDispatcher;
+    }
+
+    @Scheduled(initialDelayString = "${leaderboard.outbox.poll-interval-ms:1000}", fixedDelayString = "${leaderboard.outbox.poll-interval-ms:1000}")
+    public void relayScores() {
+        List<LeaderboardOutboxEvent> claimed;
+        do {
+            claimed = leaderboardOutboxService.claimDueEvents();
+            leaderboardScoreDispatcher.submitAll(claimed);
+        } while (claimed.size() == leaderboardOutboxService.getBatchSize());
+    }
+}
@@ -0,0 +1,52 @@
+package bg.softuni.onlinequizplatform.job;
+
+import bg.softuni.onlinequizplatform.service.QuizAttemptService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+public class QuizAttemptArchiveJob {
+    private static final Logger logger = LoggerFactory.getLogger(QuizAttemptArchiveJob.class);
+
+    private final QuizAttemptService quizAttemptService;
+    private final int retentionDays;
+    private final int archiveRetentionDays;
+
+    public QuizAttemptArchiveJob(QuizAttemptService quizAttemptService,
+                                 @Value("${quiz.attempts.retention-days:180}") int retentionDays,
+                                 @Value("${quiz.attempts.archive-retention-days:0}") int archiveRetentionDays) {
+        this.quizAttemptService = quizAttemptService;
+        this.retentionDays = retentionDays;
+        this.archiveRetentionDays = archiveRetentionDays;
+    }
+
+    @Scheduled(cron = "${quiz.attempts.archive-cron:0 30 3 * * *}")
+    public void archiveOldAttempts() {
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = quizAttemptService.getArchiveBatchSize();
+
+        // One transaction per batch keeps locks short while players keep submitting.
+        int archived = 0;
+        int moved;
+        do {
+            moved = quizAttemptService.archiveBatchSubmittedBefore(now.minusDays(retentionDays));
+            archived += moved;
+        } while (moved == batchSize);
+
+        int purged = 0;
+        if (archiveRetentionDays > 0) {
+            int deleted;
+            do {
+                deleted = quizAttemptService.purgeArchivedBatchSubmittedBefore(now.minusDays(archiveRetentionDays));
+                purged += deleted;
+            } while (deleted == batchSize);
+        }
+
+        logger.info("Archived {} quiz attempts older than {} days and purged {} archived attempts", archived, retentionDays, purged);
+    }
+}
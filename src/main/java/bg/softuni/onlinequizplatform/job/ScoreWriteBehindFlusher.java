@@ -0,0 +1,25 @@
+package bg.softuni.onlinequizplatform.job;
+
+import bg.softuni.onlinequizplatform.service.UserService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ScoreWriteBehindFlusher {
+    private final UserService userService;
+
+    public ScoreWriteBehindFlusher(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Scheduled(initialDelayString = "${score.write-behind.flush-interval-ms:500}", fixedDelayString = "${score.write-behind.flush-interval-ms:500}")
+    public void flushPendingScores() {
+        userService.flushPendingScores();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        userService.flushPendingScores();
+    }
+}
@@ -0,0 +1,66 @@
+package bg.softuni.onlinequizplatform.model;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public final class AnswerKey {
+    private final Map<UUID, Integer> optionOrdinals;
+    private final int[] optionQuestionIndexes;
+    private final BitSet correctOptions;
+    private final int questionCount;
+    private final int pointsPerQuestion;
+
+    private AnswerKey(Map<UUID, Integer> optionOrdinals, int[] optionQuestionIndexes, BitSet correctOptions, int questionCount, int pointsPerQuestion) {
+        this.optionOrdinals = optionOrdinals;
+        this.optionQuestionIndexes = optionQuestionIndexes;
+        this.correctOptions = correctOptions;
+        this.questionCount = questionCount;
+        this.pointsPerQuestion = pointsPerQuestion;
+    }
+
+    public static AnswerKey of(int quizScore, List<CompiledQuestion> questions) {
+        int optionCount = 0;
+        for (CompiledQuestion question : questions) {
+            optionCount += question.getOptions().size();
+        }
+
+        Map<UUID, Integer> optionOrdinals = new HashMap<>(Math.max(16, optionCount * 2));
+        int[] optionQuestionIndexes = new int[optionCount];
+        BitSet correctOptions = new BitSet(optionCount);
+
+        int ordinal = 0;
+        for (int questionIndex = 0; questionIndex < questions.size(); questionIndex++) {
+            for (CompiledOption option : questions.get(questionIndex).getOptions()) {
+                optionOrdinals.put(option.getId(), ordinal);
+                optionQuestionIndexes[ordinal] = questionIndex;
+                if (option.isCorrect()) {
+                    correctOptions.set(ordinal);
+                }
+                ordinal++;
+            }
+        }
+
+        int pointsPerQuestion = questions.isEmpty() ? 0 : quizScore / questions.size();
+
+        return new AnswerKey(optionOrdinals, optionQuestionIndexes, correctOptions, questions.size(), pointsPerQuestion);
+    }
+
+    public boolean isCorrect(int questionIndex, UUID optionId) {
+        Integer ordinal = optionOrdinals.get(optionId);
+
+        return ordinal != null
+                && optionQuestionIndexes[ordinal] == questionIndex
+                && correctOptions.get(ordinal);
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    public int getPointsPerQuestion() {
+        return pointsPerQuestion;
+    }
+}
@@ -0,0 +1,48 @@
+package bg.softuni.onlinequizplatform.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Immutable
+@Table(name = "quiz_attempt_archive", indexes = {
+        @Index(columnList = "userId, submittedOn"),
+        @Index(columnList = "submittedOn")
+})
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ArchivedQuizAttempt {
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID quizId;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private String quizName;
+
+    @Column(nullable = false)
+    private Category category;
+
+    private int score;
+
+    private int earnedScore;
+
+    @Lob
+    private String answers;
+
+    @Column(nullable = false)
+    private LocalDateTime submittedOn;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedOn;
+}
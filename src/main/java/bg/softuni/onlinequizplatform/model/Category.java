@@ -1,7 +1,18 @@
 package bg.softuni.onlinequizplatform.model;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
 public enum Category {
-    GEOGRAPHY,
-    HISTORY,
-    MUSIC
+    GEOGRAPHY("Geography", "🌍", "Test your knowledge of countries, capitals, and landmarks"),
+    HISTORY("History", "📜", "Journey through time with historical events and figures"),
+    MUSIC("Music", "🎵", "From classical to contemporary, test your musical knowledge");
+
+    private final String displayName;
+
+    private final String icon;
+
+    private final String description;
 }
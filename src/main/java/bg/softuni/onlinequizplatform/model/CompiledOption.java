@@ -0,0 +1,16 @@
+package bg.softuni.onlinequizplatform.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class CompiledOption {
+    UUID id;
+
+    String text;
+
+    boolean correct;
+}
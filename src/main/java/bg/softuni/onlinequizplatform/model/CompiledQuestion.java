@@ -0,0 +1,17 @@
+package bg.softuni.onlinequizplatform.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+@Value
+@Builder
+public class CompiledQuestion {
+    UUID id;
+
+    String name;
+
+    List<CompiledOption> options;
+}
@@ -0,0 +1,30 @@
+package bg.softuni.onlinequizplatform.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Value
+@Builder
+public class CompiledQuiz {
+    UUID id;
+
+    String name;
+
+    String description;
+
+    String imageUrl;
+
+    Category category;
+
+    int score;
+
+    LocalDateTime version;
+
+    List<CompiledQuestion> questions;
+
+    AnswerKey answerKey;
+}
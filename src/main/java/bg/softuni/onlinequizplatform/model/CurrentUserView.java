@@ -0,0 +1,32 @@
+package bg.softuni.onlinequizplatform.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class CurrentUserView {
+    UUID id;
+
+    String username;
+
+    String email;
+
+    String avatarUrl;
+
+    UserRole role;
+
+    int score;
+
+    int level;
+
+    int quizzesTaken;
+
+    long earnedPoints;
+
+    long possiblePoints;
+
+    int bestResultPercent;
+}
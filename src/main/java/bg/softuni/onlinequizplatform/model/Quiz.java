@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(columnList = "category, createdOn, id"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -25,8 +26,6 @@ public class Quiz {
 
     private int score;
 
-    private int earnedScore;
-
     private String imageUrl;
 
     private String description;
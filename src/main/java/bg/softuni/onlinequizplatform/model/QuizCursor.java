@@ -0,0 +1,38 @@
+package bg.softuni.onlinequizplatform.model;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+@Value
+public class QuizCursor {
+    LocalDateTime createdOn;
+
+    UUID id;
+
+    public static QuizCursor after(QuizSummary quiz) {
+        return new QuizCursor(quiz.getCreatedOn(), quiz.getId());
+    }
+
+    public static QuizCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed quiz cursor: " + cursor);
+            }
+
+            return new QuizCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed quiz cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String value = createdOn + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
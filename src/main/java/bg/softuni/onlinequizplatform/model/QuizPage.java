@@ -0,0 +1,14 @@
+package bg.softuni.onlinequizplatform.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class QuizPage {
+    List<QuizSummary> quizzes;
+
+    String nextCursor;
+}
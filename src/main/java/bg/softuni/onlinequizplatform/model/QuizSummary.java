@@ -0,0 +1,25 @@
+package bg.softuni.onlinequizplatform.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Value
+@Builder
+public class QuizSummary {
+    UUID id;
+
+    String name;
+
+    String description;
+
+    String imageUrl;
+
+    Category category;
+
+    int score;
+
+    LocalDateTime createdOn;
+}
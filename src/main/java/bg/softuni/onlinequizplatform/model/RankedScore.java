@@ -0,0 +1,20 @@
+package bg.softuni.onlinequizplatform.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class RankedScore {
+    int rank;
+
+    UUID userId;
+
+    String username;
+
+    String avatarUrl;
+
+    int score;
+}
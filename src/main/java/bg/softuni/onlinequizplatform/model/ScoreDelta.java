@@ -0,0 +1,43 @@
+package bg.softuni.onlinequizplatform.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ScoreDelta {
+    long score;
+
+    int quizzesTaken;
+
+    long earnedPoints;
+
+    long possiblePoints;
+
+    // Not a sum: the best result of the deltas merged into this one.
+    int bestResultPercent;
+
+    public static ScoreDelta ofScore(long score) {
+        return ScoreDelta.builder().score(score).build();
+    }
+
+    public static ScoreDelta ofQuizResult(int earnedScore, int possibleScore) {
+        return ScoreDelta.builder()
+                .score(earnedScore)
+                .quizzesTaken(1)
+                .earnedPoints(earnedScore)
+                .possiblePoints(possibleScore)
+                .bestResultPercent(possibleScore == 0 ? 0 : earnedScore * 100 / possibleScore)
+                .build();
+    }
+
+    public ScoreDelta plus(ScoreDelta other) {
+        return ScoreDelta.builder()
+                .score(score + other.score)
+                .quizzesTaken(quizzesTaken + other.quizzesTaken)
+                .earnedPoints(earnedPoints + other.earnedPoints)
+                .possiblePoints(possiblePoints + other.possiblePoints)
+                .bestResultPercent(Math.max(bestResultPercent, other.bestResultPercent))
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package bg.softuni.onlinequizplatform.model;
+
+import bg.softuni.onlinequizplatform.web.dto.UserScoreResponse;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+@Builder
+public class TopScoresSnapshot {
+    List<UserScoreResponse> scores;
+
+    LocalDateTime fetchedOn;
+
+    @With
+    boolean stale;
+}
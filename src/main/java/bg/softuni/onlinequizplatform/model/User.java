@@ -2,11 +2,13 @@ package bg.softuni.onlinequizplatform.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @AllArgsConstructor
@@ -38,6 +40,14 @@ public class User {
 
     private boolean active;
 
+    private int quizzesTaken;
+
+    private long earnedPoints;
+
+    private long possiblePoints;
+
+    private int bestResultPercent;
+
     @Column(nullable = false)
     private LocalDateTime createdOn;
 
@@ -0,0 +1,34 @@
+package bg.softuni.onlinequizplatform.monitoring;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Response;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FlightRecorderCapability implements Capability {
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            RemoteCallEvent event = new RemoteCallEvent();
+            event.begin();
+            int status = -1;
+            try {
+                Response response = client.execute(request, options);
+                status = response.status();
+                return response;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    MethodMetadata metadata = request.requestTemplate() == null ? null : request.requestTemplate().methodMetadata();
+                    event.setClient(request.requestTemplate() == null ? null : request.requestTemplate().feignTarget().name());
+                    event.setMethod(metadata == null ? request.httpMethod() + " " + request.url() : metadata.configKey());
+                    event.setStatus(status);
+                    event.commit();
+                }
+            }
+        };
+    }
+}
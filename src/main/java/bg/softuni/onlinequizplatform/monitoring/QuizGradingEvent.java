@@ -0,0 +1,21 @@
+package bg.softuni.onlinequizplatform.monitoring;
+
+import jdk.jfr.*;
+import lombok.Setter;
+
+@Name("bg.softuni.onlinequizplatform.QuizGrading")
+@Label("Quiz Grading")
+@Category({"Online Quiz Platform", "Quiz"})
+@Description("Grading of submitted answers against a quiz answer key")
+@StackTrace(false)
+@Setter
+public class QuizGradingEvent extends Event {
+    @Label("Quiz Id")
+    private String quizId;
+
+    @Label("Question Count")
+    private int questionCount;
+
+    @Label("Earned Score")
+    private int earnedScore;
+}
@@ -0,0 +1,21 @@
+package bg.softuni.onlinequizplatform.monitoring;
+
+import jdk.jfr.*;
+import lombok.Setter;
+
+@Name("bg.softuni.onlinequizplatform.QuizSubmission")
+@Label("Quiz Submission")
+@Category({"Online Quiz Platform", "Quiz"})
+@Description("A quiz submission handled end to end, grading and score updates included")
+@StackTrace(false)
+@Setter
+public class QuizSubmissionEvent extends Event {
+    @Label("Quiz Id")
+    private String quizId;
+
+    @Label("Question Count")
+    private int questionCount;
+
+    @Label("Earned Score")
+    private int earnedScore;
+}
@@ -0,0 +1,22 @@
+package bg.softuni.onlinequizplatform.monitoring;
+
+import jdk.jfr.*;
+import lombok.Setter;
+
+@Name("bg.softuni.onlinequizplatform.RemoteCall")
+@Label("Remote Call")
+@Category({"Online Quiz Platform", "Remote Services"})
+@Description("A call made through a Feign client, such as the leaderboard service")
+@StackTrace(false)
+@Setter
+public class RemoteCallEvent extends Event {
+    @Label("Client")
+    private String client;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Status")
+    @Description("HTTP status, or -1 when no response was received")
+    private int status;
+}
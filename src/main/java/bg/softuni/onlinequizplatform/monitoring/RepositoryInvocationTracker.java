@@ -0,0 +1,38 @@
+package bg.softuni.onlinequizplatform.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Remembers which repository method the current thread is in, so executed statements can be attributed to it.
+ */
+public class RepositoryInvocationTracker implements MethodInterceptor {
+    public static final String NO_REPOSITORY = "none";
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final String repositoryName;
+
+    public RepositoryInvocationTracker(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    public static String current() {
+        String method = CURRENT.get();
+        return method == null ? NO_REPOSITORY : method;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String previous = CURRENT.get();
+        CURRENT.set(repositoryName + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package bg.softuni.onlinequizplatform.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class RequestStatementFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RequestStatementFilter.class);
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatThreshold;
+
+    public RequestStatementFilter(MeterRegistry meterRegistry, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        StatementScope scope = StatementScope.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementScope scope) {
+        // The pattern is only known once the request has been dispatched to a handler.
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+
+        DistributionSummary.builder("http.server.statements")
+                .description("JDBC statements executed per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.getCount());
+
+        Map<String, Integer> repeatedShapes = scope.getRepeatedShapes(repeatThreshold);
+        if (repeatedShapes.isEmpty()) {
+            return;
+        }
+
+        Counter.builder("http.server.statements.repeated")
+                .description("Requests that executed the same statement shape more often than the threshold")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+        repeatedShapes.forEach((shape, executions) ->
+                logger.warn("Possible N+1 on {} {}: {} executions of [{}]", request.getMethod(), uri, executions, shape));
+    }
+}
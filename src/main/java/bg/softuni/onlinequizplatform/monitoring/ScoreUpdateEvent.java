@@ -0,0 +1,22 @@
+package bg.softuni.onlinequizplatform.monitoring;
+
+import jdk.jfr.*;
+import lombok.Setter;
+
+@Name("bg.softuni.onlinequizplatform.ScoreUpdate")
+@Label("Score Update")
+@Category({"Online Quiz Platform", "Users"})
+@Description("Points added to a user's score after a quiz")
+@StackTrace(false)
+@Setter
+public class ScoreUpdateEvent extends Event {
+    @Label("User Id")
+    private String userId;
+
+    @Label("Points")
+    private int points;
+
+    @Label("Write Behind")
+    @Description("Whether the points were buffered instead of written to the database")
+    private boolean writeBehind;
+}
@@ -0,0 +1,45 @@
+package bg.softuni.onlinequizplatform.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class StatementMetricsListener implements QueryExecutionListener {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timersByRepositoryMethod = new ConcurrentHashMap<>();
+
+    public StatementMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String repositoryMethod = RepositoryInvocationTracker.current();
+        timersByRepositoryMethod.computeIfAbsent(repositoryMethod, this::timer)
+                .record(execInfo.getElapsedTime(), TimeUnit.MILLISECONDS);
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            StatementScope.record(queryInfo.getQuery(), execInfo.getElapsedTime());
+        }
+    }
+
+    private Timer timer(String repositoryMethod) {
+        return Timer.builder("db.statements")
+                .description("JDBC statement executions by the repository method that issued them")
+                .tag("repository", repositoryMethod)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,95 @@
+package bg.softuni.onlinequizplatform.monitoring;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the SQL statements executed on the current thread while the scope is open. Scopes nest, a statement
+ * is recorded in every open scope, so a test can wrap a request that opens its own scope.
+ */
+public final class StatementScope implements AutoCloseable {
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final StatementScope parent;
+    private final Map<String, Integer> executionsByShape = new HashMap<>();
+    private int count;
+    private long elapsedMillis;
+    private boolean closed;
+
+    private StatementScope(StatementScope parent) {
+        this.parent = parent;
+    }
+
+    public static StatementScope open() {
+        StatementScope scope = new StatementScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(String sql, long elapsedMillis) {
+        StatementScope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+
+        String shape = shapeOf(sql);
+        for (; scope != null; scope = scope.parent) {
+            scope.count++;
+            scope.elapsedMillis += elapsedMillis;
+            scope.executionsByShape.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Statement shapes executed more than {@code threshold} times, the usual sign of an N+1 query.
+     */
+    public Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executionsByShape.forEach((shape, executions) -> {
+            if (executions > threshold) {
+                repeated.put(shape, executions);
+            }
+        });
+
+        return repeated;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // Scopes close in reverse order of opening, anything opened inside this one and left open is dropped with it.
+        StatementScope current = CURRENT.get();
+        while (current != null && current != this) {
+            current.closed = true;
+            current = current.parent;
+        }
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+}
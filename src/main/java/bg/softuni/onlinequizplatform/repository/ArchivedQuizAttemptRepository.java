@@ -0,0 +1,24 @@
+package bg.softuni.onlinequizplatform.repository;
+
+import bg.softuni.onlinequizplatform.model.ArchivedQuizAttempt;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedQuizAttemptRepository extends JpaRepository<ArchivedQuizAttempt, UUID> {
+    @Query("SELECT a.id FROM ArchivedQuizAttempt a WHERE a.submittedOn < :cutoff ORDER BY a.submittedOn")
+    List<UUID> findIdsSubmittedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedQuizAttempt a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
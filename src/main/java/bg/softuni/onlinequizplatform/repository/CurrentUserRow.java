@@ -0,0 +1,29 @@
+package bg.softuni.onlinequizplatform.repository;
+
+import bg.softuni.onlinequizplatform.model.UserRole;
+
+import java.util.UUID;
+
+public interface CurrentUserRow {
+    UUID getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getAvatarUrl();
+
+    UserRole getRole();
+
+    int getScore();
+
+    int getLevel();
+
+    int getQuizzesTaken();
+
+    long getEarnedPoints();
+
+    long getPossiblePoints();
+
+    int getBestResultPercent();
+}
@@ -0,0 +1,27 @@
+package bg.softuni.onlinequizplatform.repository;
+
+import bg.softuni.onlinequizplatform.model.LeaderboardOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface LeaderboardOutboxEventRepository extends JpaRepository<LeaderboardOutboxEvent, UUID> {
+    List<LeaderboardOutboxEvent> findByNextAttemptOnLessThanEqualOrderByCreatedOnAsc(LocalDateTime now, Limit limit);
+
+    Optional<LeaderboardOutboxEvent> findFirstByOrderByCreatedOnAsc();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM LeaderboardOutboxEvent e WHERE e.userId = :userId AND e.createdOn <= :createdOn")
+    int deleteByUserIdUpTo(@Param("userId") UUID userId, @Param("createdOn") LocalDateTime createdOn);
+}
@@ -2,12 +2,20 @@ package bg.softuni.onlinequizplatform.repository;
 
 import bg.softuni.onlinequizplatform.model.QuestionOption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface QuestionOptionRepository extends JpaRepository<QuestionOption, UUID> {
     List<QuestionOption> getByQuestionId(UUID id);
+
+    @Modifying
+    @Query("DELETE FROM QuestionOption o WHERE o.question.id IN (SELECT q.id FROM Question q WHERE q.quiz.id IN :quizIds)")
+    int deleteAllByQuizIds(@Param("quizIds") Collection<UUID> quizIds);
 }
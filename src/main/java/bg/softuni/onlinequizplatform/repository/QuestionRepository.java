@@ -2,8 +2,12 @@ package bg.softuni.onlinequizplatform.repository;
 
 import bg.softuni.onlinequizplatform.model.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +15,13 @@ import java.util.UUID;
 public interface QuestionRepository extends JpaRepository<Question, UUID> {
 
     List<Question> getByQuizId(UUID id);
+
+    @Query("SELECT q.id AS questionId, q.name AS questionName, o.id AS optionId, o.text AS optionText, o.isCorrect AS optionCorrect " +
+            "FROM Question q LEFT JOIN QuestionOption o ON o.question = q " +
+            "WHERE q.quiz.id = :quizId ORDER BY q.id, o.id")
+    List<QuizGraphRow> findQuizGraphByQuizId(@Param("quizId") UUID quizId);
+
+    @Modifying
+    @Query("DELETE FROM Question q WHERE q.quiz.id IN :quizIds")
+    int deleteAllByQuizIds(@Param("quizIds") Collection<UUID> quizIds);
 }
@@ -0,0 +1,37 @@
+package bg.softuni.onlinequizplatform.repository;
+
+import bg.softuni.onlinequizplatform.model.QuizAttempt;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, UUID> {
+    Slice<QuizAttempt> findByUserIdOrderBySubmittedOnDesc(UUID userId, Pageable pageable);
+
+    @Query("SELECT a.id FROM QuizAttempt a WHERE a.submittedOn < :cutoff ORDER BY a.submittedOn")
+    List<UUID> findIdsSubmittedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("""
+            INSERT INTO ArchivedQuizAttempt (id, quizId, userId, quizName, category, score, earnedScore, answers, submittedOn, archivedOn)
+            SELECT a.id, a.quizId, a.userId, a.quizName, a.category, a.score, a.earnedScore, a.answers, a.submittedOn, :archivedOn
+            FROM QuizAttempt a
+            WHERE a.id IN :ids
+            """)
+    int copyToArchive(@Param("ids") Collection<UUID> ids, @Param("archivedOn") LocalDateTime archivedOn);
+
+    @Modifying
+    @Query("DELETE FROM QuizAttempt a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,15 @@
+package bg.softuni.onlinequizplatform.repository;
+
+import java.util.UUID;
+
+public interface QuizGraphRow {
+    UUID getQuestionId();
+
+    String getQuestionName();
+
+    UUID getOptionId();
+
+    String getOptionText();
+
+    Boolean getOptionCorrect();
+}
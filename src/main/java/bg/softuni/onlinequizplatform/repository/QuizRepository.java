@@ -2,15 +2,38 @@ package bg.softuni.onlinequizplatform.repository;
 
 import bg.softuni.onlinequizplatform.model.Category;
 import bg.softuni.onlinequizplatform.model.Quiz;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, UUID> {
-    List<Quiz> findByCategory(Category category);
+    @Query("""
+            SELECT q.id AS id, q.name AS name, q.description AS description, q.imageUrl AS imageUrl,
+                   q.category AS category, q.score AS score, q.createdOn AS createdOn
+            FROM Quiz q
+            WHERE q.category = :category
+            ORDER BY q.createdOn, q.id
+            """)
+    List<QuizSummaryRow> findFirstPageByCategory(Category category, Limit limit);
 
-    List<Quiz> findAllByUser_IdOrderByUpdatedOnDesc(UUID userId);
+    @Query("""
+            SELECT q.id AS id, q.name AS name, q.description AS description, q.imageUrl AS imageUrl,
+                   q.category AS category, q.score AS score, q.createdOn AS createdOn
+            FROM Quiz q
+            WHERE q.category = :category
+              AND (q.createdOn > :createdOn OR (q.createdOn = :createdOn AND q.id > :id))
+            ORDER BY q.createdOn, q.id
+            """)
+    List<QuizSummaryRow> findPageByCategoryAfter(Category category, LocalDateTime createdOn, UUID id, Limit limit);
+
+
+    @Query("SELECT DISTINCT q.category FROM Quiz q WHERE q.id IN :ids")
+    List<Category> findCategoriesByIdIn(Collection<UUID> ids);
 }
@@ -0,0 +1,22 @@
+package bg.softuni.onlinequizplatform.repository;
+
+import bg.softuni.onlinequizplatform.model.Category;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface QuizSummaryRow {
+    UUID getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getImageUrl();
+
+    Category getCategory();
+
+    int getScore();
+
+    LocalDateTime getCreatedOn();
+}
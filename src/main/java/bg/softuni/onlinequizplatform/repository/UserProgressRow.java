@@ -0,0 +1,15 @@
+package bg.softuni.onlinequizplatform.repository;
+
+import bg.softuni.onlinequizplatform.model.UserRole;
+
+import java.time.LocalDateTime;
+
+public interface UserProgressRow {
+    int getScore();
+
+    int getLevel();
+
+    UserRole getRole();
+
+    LocalDateTime getUpdatedOn();
+}
@@ -3,8 +3,14 @@ package bg.softuni.onlinequizplatform.repository;
 import bg.softuni.onlinequizplatform.model.User;
 import bg.softuni.onlinequizplatform.model.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,4 +21,65 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByUsername(String username);
 
     List<User> findByRole(UserRole role);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.avatarUrl AS avatarUrl, u.score AS score FROM User u")
+    List<UserScoreRow> findAllScores();
+
+    @Query("SELECT u.score AS score, u.level AS level, u.role AS role, u.updatedOn AS updatedOn FROM User u WHERE u.id = :id")
+    Optional<UserProgressRow> findProgressById(@Param("id") UUID id);
+
+    @Query("""
+            SELECT u.id AS id, u.username AS username, u.email AS email, u.avatarUrl AS avatarUrl, u.role AS role,
+                   u.score AS score, u.level AS level, u.quizzesTaken AS quizzesTaken, u.earnedPoints AS earnedPoints,
+                   u.possiblePoints AS possiblePoints, u.bestResultPercent AS bestResultPercent
+            FROM User u
+            WHERE u.id = :id
+            """)
+    Optional<CurrentUserRow> findCurrentUserById(@Param("id") UUID id);
+
+    // Clearing detaches loaded users, so a later flush of a stale entity cannot write the old score back.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE User u SET
+                u.role = CASE WHEN u.score + :delta > :promotionScore AND u.role = :promotableRole THEN :promotedRole ELSE u.role END,
+                u.level = CAST(FLOOR((u.score + :delta) / :pointsPerLevel) AS Integer) + 1,
+                u.quizzesTaken = u.quizzesTaken + :quizzesTaken,
+                u.earnedPoints = u.earnedPoints + :earnedPoints,
+                u.possiblePoints = u.possiblePoints + :possiblePoints,
+                u.bestResultPercent = CASE WHEN :bestResultPercent > u.bestResultPercent THEN :bestResultPercent ELSE u.bestResultPercent END,
+                u.updatedOn = :now,
+                u.score = u.score + :delta
+            WHERE u.id IN :ids
+            """)
+    int incrementScores(@Param("ids") Collection<UUID> ids,
+                        @Param("delta") int delta,
+                        @Param("quizzesTaken") int quizzesTaken,
+                        @Param("earnedPoints") long earnedPoints,
+                        @Param("possiblePoints") long possiblePoints,
+                        @Param("bestResultPercent") int bestResultPercent,
+                        @Param("now") LocalDateTime now,
+                        @Param("pointsPerLevel") double pointsPerLevel,
+                        @Param("promotionScore") int promotionScore,
+                        @Param("promotableRole") UserRole promotableRole,
+                        @Param("promotedRole") UserRole promotedRole);
+
+    // MySQL applies SET assignments left to right, so score must stay last for the other columns to see the old value.
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE User u SET
+                u.role = CASE WHEN u.score + :bonus > :promotionScore AND u.role = :promotableRole THEN :promotedRole ELSE u.role END,
+                u.level = CAST(FLOOR((u.score + :bonus) / :pointsPerLevel) AS Integer) + 1,
+                u.updatedOn = :now,
+                u.score = u.score + :bonus
+            WHERE u.updatedOn > :since
+            """)
+    int addBonusToUsersUpdatedAfter(@Param("bonus") int bonus,
+                                    @Param("since") LocalDateTime since,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("pointsPerLevel") double pointsPerLevel,
+                                    @Param("promotionScore") int promotionScore,
+                                    @Param("promotableRole") UserRole promotableRole,
+                                    @Param("promotedRole") UserRole promotedRole);
 }
@@ -0,0 +1,13 @@
+package bg.softuni.onlinequizplatform.repository;
+
+import java.util.UUID;
+
+public interface UserScoreRow {
+    UUID getId();
+
+    String getUsername();
+
+    String getAvatarUrl();
+
+    int getScore();
+}
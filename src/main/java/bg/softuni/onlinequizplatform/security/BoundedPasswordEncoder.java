@@ -0,0 +1,117 @@
+package bg.softuni.onlinequizplatform.security;
+
+import bg.softuni.onlinequizplatform.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hashing runs on a small dedicated pool, so a burst of logins waits its turn instead of hashing on every request thread at once.
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration waitTimeout;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate,
+                                  int threads,
+                                  int queueCapacity,
+                                  Duration waitTimeout,
+                                  long retryAfterSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.waitTimeout = waitTimeout;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hash.duration")
+                .description("Time spent hashing or verifying a password, excluding queueing")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.duration")
+                .description("Time spent hashing or verifying a password, excluding queueing")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Hashing requests turned away because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Hashing requests waiting for a free hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently busy")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw unavailable();
+        }
+
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw unavailable();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw unavailable();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private PasswordHashingUnavailableException unavailable() {
+        return new PasswordHashingUnavailableException("Too many sign-ins right now, please try again shortly", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,23 @@
+package bg.softuni.onlinequizplatform.service;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@UtilityClass
+public class CacheEviction {
+
+    // A read before commit can load the old row again, so the eviction is repeated once the transaction ends.
+    public static void nowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
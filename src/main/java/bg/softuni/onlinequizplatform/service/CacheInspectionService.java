@@ -0,0 +1,72 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.web.dto.CacheDetailsResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@Service
+public class CacheInspectionService {
+    private final CacheManager cacheManager;
+    private final int maxListedEntries;
+
+    public CacheInspectionService(CacheManager cacheManager, @Value("${cache.admin.max-listed-entries:100}") int maxListedEntries) {
+        this.cacheManager = cacheManager;
+        this.maxListedEntries = maxListedEntries;
+    }
+
+    public List<CacheDetailsResponse> getCacheDetails() {
+        List<CacheDetailsResponse> details = new ArrayList<>();
+
+        for (String name : new TreeSet<>(cacheManager.getCacheNames())) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                details.add(describe(name, nativeCache));
+            }
+        }
+
+        return details;
+    }
+
+    private CacheDetailsResponse describe(String name, com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+        nativeCache.cleanUp();
+        CacheStats stats = nativeCache.stats();
+
+        // Values are summarised rather than serialised, the cached UserData carries the password hash.
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : nativeCache.asMap().entrySet()) {
+            if (entries.size() >= maxListedEntries) {
+                break;
+            }
+            entries.put(String.valueOf(entry.getKey()), summarise(entry.getValue()));
+        }
+
+        return CacheDetailsResponse.builder()
+                .name(name)
+                .size(nativeCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .loadCount(stats.loadCount())
+                .entries(entries)
+                .build();
+    }
+
+    private static String summarise(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "[" + collection.size() + "]";
+        }
+
+        return value == null ? "null" : value.getClass().getSimpleName();
+    }
+}
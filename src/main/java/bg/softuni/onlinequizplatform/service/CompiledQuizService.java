@@ -0,0 +1,124 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.AnswerKey;
+import bg.softuni.onlinequizplatform.model.CompiledOption;
+import bg.softuni.onlinequizplatform.model.CompiledQuestion;
+import bg.softuni.onlinequizplatform.model.CompiledQuiz;
+import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.repository.QuestionRepository;
+import bg.softuni.onlinequizplatform.repository.QuizGraphRow;
+import bg.softuni.onlinequizplatform.repository.QuizRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Service
+public class CompiledQuizService {
+    public static final String COMPILED_QUIZZES = "compiledQuizzes";
+    private static final int OBJECT_OVERHEAD_BYTES = 64;
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+    private final Cache<UUID, CompiledQuiz> compiledQuizzes;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CompiledQuizService(QuizRepository quizRepository,
+                               QuestionRepository questionRepository,
+                               CaffeineCacheManager cacheManager,
+                               @Value("${quiz.snapshot-cache.max-entries:1000}") int maxEntries,
+                               @Value("${quiz.snapshot-cache.max-bytes:67108864}") long maxBytes) {
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+
+        // Every entry weighs at least maxBytes / maxEntries, so the weight bound also caps the entry count.
+        int minEntryWeight = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxBytes / maxEntries));
+        this.compiledQuizzes = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((UUID id, CompiledQuiz quiz) -> Math.max(minEntryWeight, estimateSize(quiz)))
+                .recordStats()
+                .build();
+        cacheManager.registerCustomCache(COMPILED_QUIZZES, (Cache) compiledQuizzes);
+    }
+
+    public Optional<CompiledQuiz> getCompiledQuiz(UUID quizId) {
+        return Optional.ofNullable(compiledQuizzes.get(quizId, this::compile));
+    }
+
+    public void invalidate(Collection<UUID> quizIds) {
+        List<UUID> ids = List.copyOf(quizIds);
+        CacheEviction.nowAndAfterCompletion(() -> compiledQuizzes.invalidateAll(ids));
+    }
+
+    public long size() {
+        compiledQuizzes.cleanUp();
+        return compiledQuizzes.estimatedSize();
+    }
+
+    private CompiledQuiz compile(UUID quizId) {
+        Optional<Quiz> optionalQuiz = quizRepository.findById(quizId);
+        if (optionalQuiz.isEmpty()) {
+            return null;
+        }
+
+        Quiz quiz = optionalQuiz.get();
+        Map<UUID, String> questionNames = new LinkedHashMap<>();
+        Map<UUID, List<CompiledOption>> questionOptions = new HashMap<>();
+
+        for (QuizGraphRow row : questionRepository.findQuizGraphByQuizId(quizId)) {
+            questionNames.putIfAbsent(row.getQuestionId(), row.getQuestionName());
+            List<CompiledOption> options = questionOptions.computeIfAbsent(row.getQuestionId(), id -> new ArrayList<>());
+
+            if (row.getOptionId() != null) {
+                options.add(CompiledOption.builder()
+                        .id(row.getOptionId())
+                        .text(row.getOptionText())
+                        .correct(Boolean.TRUE.equals(row.getOptionCorrect()))
+                        .build());
+            }
+        }
+
+        List<CompiledQuestion> questions = new ArrayList<>(questionNames.size());
+        questionNames.forEach((questionId, questionName) -> questions.add(CompiledQuestion.builder()
+                .id(questionId)
+                .name(questionName)
+                .options(List.copyOf(questionOptions.get(questionId)))
+                .build()));
+
+        return CompiledQuiz.builder()
+                .id(quiz.getId())
+                .name(quiz.getName())
+                .description(quiz.getDescription())
+                .imageUrl(quiz.getImageUrl())
+                .category(quiz.getCategory())
+                .score(quiz.getScore())
+                .version(quiz.getUpdatedOn())
+                .questions(List.copyOf(questions))
+                .answerKey(AnswerKey.of(quiz.getScore(), questions))
+                .build();
+    }
+
+    private static int estimateSize(CompiledQuiz quiz) {
+        long size = OBJECT_OVERHEAD_BYTES
+                + sizeOf(quiz.getName())
+                + sizeOf(quiz.getDescription())
+                + sizeOf(quiz.getImageUrl());
+
+        for (CompiledQuestion question : quiz.getQuestions()) {
+            size += OBJECT_OVERHEAD_BYTES + sizeOf(question.getName());
+            for (CompiledOption option : question.getOptions()) {
+                // option snapshot plus its answer key entry
+                size += 2L * OBJECT_OVERHEAD_BYTES + sizeOf(option.getText());
+            }
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : OBJECT_OVERHEAD_BYTES / 2 + 2L * value.length();
+    }
+}
@@ -0,0 +1,65 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.exception.UserNotFoundException;
+import bg.softuni.onlinequizplatform.model.CurrentUserView;
+import bg.softuni.onlinequizplatform.repository.CurrentUserRow;
+import bg.softuni.onlinequizplatform.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+public class CurrentUserService {
+    public static final String CURRENT_USERS = "currentUsers";
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, CurrentUserView> currentUsers;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CurrentUserService(UserRepository userRepository,
+                              CaffeineCacheManager cacheManager,
+                              @Value("${cache.current-users.spec:maximumSize=10000,expireAfterWrite=30s}") String spec) {
+        this.userRepository = userRepository;
+        this.currentUsers = Caffeine.from(spec).recordStats().build();
+        cacheManager.registerCustomCache(CURRENT_USERS, (Cache) currentUsers);
+    }
+
+    public CurrentUserView get(UUID userId) {
+        CurrentUserView currentUser = currentUsers.get(userId, this::load);
+        if (currentUser == null) {
+            throw new UserNotFoundException("User Not Found");
+        }
+
+        return currentUser;
+    }
+
+    public void evict(UUID userId) {
+        CacheEviction.nowAndAfterCompletion(() -> currentUsers.invalidate(userId));
+    }
+
+    private CurrentUserView load(UUID userId) {
+        return userRepository.findCurrentUserById(userId)
+                .map(CurrentUserService::toView)
+                .orElse(null);
+    }
+
+    private static CurrentUserView toView(CurrentUserRow row) {
+        return CurrentUserView.builder()
+                .id(row.getId())
+                .username(row.getUsername())
+                .email(row.getEmail())
+                .avatarUrl(row.getAvatarUrl())
+                .role(row.getRole())
+                .score(row.getScore())
+                .level(row.getLevel())
+                .quizzesTaken(row.getQuizzesTaken())
+                .earnedPoints(row.getEarnedPoints())
+                .possiblePoints(row.getPossiblePoints())
+                .bestResultPercent(row.getBestResultPercent())
+                .build();
+    }
+}
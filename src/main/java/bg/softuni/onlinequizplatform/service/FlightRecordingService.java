@@ -0,0 +1,129 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.monitoring.QuizGradingEvent;
+import bg.softuni.onlinequizplatform.monitoring.QuizSubmissionEvent;
+import bg.softuni.onlinequizplatform.monitoring.RemoteCallEvent;
+import bg.softuni.onlinequizplatform.monitoring.ScoreUpdateEvent;
+import bg.softuni.onlinequizplatform.web.dto.FlightRecordingResponse;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Service
+public class FlightRecordingService {
+    private static final List<Class<? extends Event>> DOMAIN_EVENTS =
+            List.of(QuizSubmissionEvent.class, QuizGradingEvent.class, ScoreUpdateEvent.class, RemoteCallEvent.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path directory;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private Recording recording;
+    private LocalDateTime startedOn;
+
+    public FlightRecordingService(@Value("${jfr.recordings.directory:${java.io.tmpdir}/quiz-platform-recordings}") String directory,
+                                  @Value("${jfr.recordings.max-age-minutes:60}") long maxAgeMinutes,
+                                  @Value("${jfr.recordings.max-size-bytes:268435456}") long maxSizeBytes) {
+        this.directory = Path.of(directory);
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public synchronized FlightRecordingResponse getStatus() {
+        return status(null);
+    }
+
+    public synchronized FlightRecordingResponse start() {
+        if (recording != null) {
+            return status(null);
+        }
+
+        try {
+            // The JDK's "default" settings are the low-overhead profile meant to stay on in production.
+            Recording newRecording = new Recording(Configuration.getConfiguration("default"));
+            newRecording.setName("quiz-platform");
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(maxAge);
+            newRecording.setMaxSize(maxSizeBytes);
+            DOMAIN_EVENTS.forEach(newRecording::enable);
+            newRecording.start();
+
+            recording = newRecording;
+            startedOn = LocalDateTime.now();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Could not read the default flight recorder settings", e);
+        }
+
+        return status(null);
+    }
+
+    public synchronized FlightRecordingResponse dump() {
+        if (recording == null) {
+            return status(null);
+        }
+
+        Path file = nextFile("snapshot");
+        write(file);
+        return status(file);
+    }
+
+    public synchronized FlightRecordingResponse stop() {
+        if (recording == null) {
+            return status(null);
+        }
+
+        recording.stop();
+        Path file = nextFile("recording");
+        try {
+            write(file);
+        } finally {
+            recording.close();
+            recording = null;
+            startedOn = null;
+        }
+
+        return status(file);
+    }
+
+    // A recording still running at shutdown is kept rather than lost with the JVM.
+    @PreDestroy
+    public void close() {
+        stop();
+    }
+
+    private void write(Path file) {
+        try {
+            Files.createDirectories(directory);
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path nextFile(String kind) {
+        return directory.resolve("quiz-platform-" + kind + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+    }
+
+    private FlightRecordingResponse status(Path file) {
+        return FlightRecordingResponse.builder()
+                .running(recording != null)
+                .startedOn(startedOn)
+                .file(file == null ? null : file.toAbsolutePath().toString())
+                .build();
+    }
+}
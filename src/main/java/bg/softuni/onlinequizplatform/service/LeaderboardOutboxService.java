@@ -0,0 +1,108 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.LeaderboardOutboxEvent;
+import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.repository.LeaderboardOutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class LeaderboardOutboxService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardOutboxService.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final LeaderboardOutboxEventRepository outboxEventRepository;
+    private final int batchSize;
+    private final long leaseMs;
+    private final long retryBaseDelayMs;
+    private final long retryMaxDelayMs;
+
+    public LeaderboardOutboxService(LeaderboardOutboxEventRepository outboxEventRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${leaderboard.outbox.batch-size:100}") int batchSize,
+                                    @Value("${leaderboard.outbox.lease-ms:30000}") long leaseMs,
+                                    @Value("${leaderboard.outbox.retry-base-delay-ms:1000}") long retryBaseDelayMs,
+                                    @Value("${leaderboard.outbox.retry-max-delay-ms:300000}") long retryMaxDelayMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.batchSize = batchSize;
+        this.leaseMs = leaseMs;
+        this.retryBaseDelayMs = retryBaseDelayMs;
+        this.retryMaxDelayMs = retryMaxDelayMs;
+
+        Gauge.builder("leaderboard.outbox.lag", this, LeaderboardOutboxService::getLagSeconds)
+                .description("Age of the oldest score push still waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("leaderboard.outbox.pending", outboxEventRepository, LeaderboardOutboxEventRepository::count)
+                .description("Score pushes waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueScore(User user) {
+        LocalDateTime now = LocalDateTime.now();
+
+        outboxEventRepository.save(LeaderboardOutboxEvent.builder()
+                .userId(user.getId())
+                .username(user.getUsername())
+                .avatarUrl(user.getAvatarUrl())
+                .score(user.getScore())
+                .createdOn(now)
+                .nextAttemptOn(now)
+                .build());
+    }
+
+    @Transactional
+    public List<LeaderboardOutboxEvent> claimDueEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        List<LeaderboardOutboxEvent> events = outboxEventRepository
+                .findByNextAttemptOnLessThanEqualOrderByCreatedOnAsc(now, Limit.of(batchSize));
+
+        // Claimed events stay invisible to the relay until acknowledged or the lease runs out.
+        LocalDateTime leaseEnd = now.plus(Duration.ofMillis(leaseMs));
+        for (LeaderboardOutboxEvent event : events) {
+            event.setNextAttemptOn(leaseEnd);
+        }
+
+        return events;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void markSent(LeaderboardOutboxEvent event) {
+        // Scores are absolute totals, so older pending pushes for the same user are superseded.
+        outboxEventRepository.deleteByUserIdUpTo(event.getUserId(), event.getCreatedOn());
+    }
+
+    public void markFailed(LeaderboardOutboxEvent event, RuntimeException e) {
+        int attempts = event.getAttempts() + 1;
+        long delayMs = Math.min(retryMaxDelayMs, retryBaseDelayMs << Math.min(attempts - 1, 20));
+
+        String error = String.valueOf(e.getMessage());
+        event.setAttempts(attempts);
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        event.setNextAttemptOn(LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+        outboxEventRepository.save(event);
+
+        logger.warn("Leaderboard push for user {} failed (attempt {}), retrying in {} ms", event.getUserId(), attempts, delayMs);
+    }
+
+    public double getLagSeconds() {
+        return outboxEventRepository.findFirstByOrderByCreatedOnAsc()
+                .map(event -> Duration.between(event.getCreatedOn(), LocalDateTime.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+}
@@ -0,0 +1,68 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.RankedScore;
+import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.repository.UserRepository;
+import bg.softuni.onlinequizplatform.repository.UserScoreRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class LeaderboardRankService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardRankService.class);
+
+    private final UserRepository userRepository;
+    private final RankedScoreIndex rankedScoreIndex = new RankedScoreIndex();
+
+    public LeaderboardRankService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<UserScoreRow> rows = userRepository.findAllScores();
+        List<RankedScore> scores = new ArrayList<>(rows.size());
+        for (UserScoreRow row : rows) {
+            scores.add(RankedScore.builder()
+                    .userId(row.getId())
+                    .username(row.getUsername())
+                    .avatarUrl(row.getAvatarUrl())
+                    .score(row.getScore())
+                    .build());
+        }
+
+        rankedScoreIndex.replaceAll(scores);
+        logger.info("Rank index rebuilt with {} users", scores.size());
+    }
+
+    public void update(User user) {
+        rankedScoreIndex.put(user.getId(), user.getUsername(), user.getAvatarUrl(), user.getScore());
+    }
+
+    public void remove(UUID userId) {
+        rankedScoreIndex.remove(userId);
+    }
+
+    public int getRank(UUID userId) {
+        return rankedScoreIndex.rankOf(userId);
+    }
+
+    public int getRankedUserCount() {
+        return rankedScoreIndex.size();
+    }
+
+    public List<RankedScore> getTop(int limit) {
+        return rankedScoreIndex.top(limit);
+    }
+
+    public List<RankedScore> getNeighbours(UUID userId, int radius) {
+        return rankedScoreIndex.around(userId, radius);
+    }
+}
@@ -0,0 +1,140 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.model.LeaderboardOutboxEvent;
+import bg.softuni.onlinequizplatform.web.dto.CreateScoreRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class LeaderboardScoreDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardScoreDispatcher.class);
+
+    private final LeaderboardClient leaderboardClient;
+    private final LeaderboardOutboxService leaderboardOutboxService;
+    private final ConcurrentHashMap<UUID, LeaderboardOutboxEvent> pendingPushes = new ConcurrentHashMap<>();
+    private final Set<UUID> heldEventIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean thresholdFlushQueued = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+    private final int flushThreshold;
+    private final Counter received;
+    private final Counter sent;
+    private final Counter failed;
+
+    public LeaderboardScoreDispatcher(LeaderboardClient leaderboardClient,
+                                      LeaderboardOutboxService leaderboardOutboxService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${leaderboard.dispatcher.flush-interval-ms:200}") long flushIntervalMs,
+                                      @Value("${leaderboard.dispatcher.flush-threshold:500}") int flushThreshold) {
+        this.leaderboardClient = leaderboardClient;
+        this.leaderboardOutboxService = leaderboardOutboxService;
+        this.flushThreshold = flushThreshold;
+
+        this.received = Counter.builder("leaderboard.pushes.received")
+                .description("Score pushes handed to the dispatcher")
+                .register(meterRegistry);
+        this.sent = Counter.builder("leaderboard.pushes.sent")
+                .description("Score pushes sent to the leaderboard service after coalescing")
+                .register(meterRegistry);
+        this.failed = Counter.builder("leaderboard.pushes.failed")
+                .description("Score pushes rejected by the leaderboard service")
+                .register(meterRegistry);
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void submitAll(Collection<LeaderboardOutboxEvent> events) {
+        for (LeaderboardOutboxEvent event : events) {
+            // A slow backlog can outlive the claim lease; the relay's re-claim already extended it, so keep the copy we hold.
+            if (!heldEventIds.add(event.getId())) {
+                continue;
+            }
+
+            pendingPushes.merge(event.getUserId(), event, (current, candidate) -> {
+                LeaderboardOutboxEvent superseded = candidate.getCreatedOn().isBefore(current.getCreatedOn()) ? candidate : current;
+                heldEventIds.remove(superseded.getId());
+                return superseded == current ? candidate : current;
+            });
+            received.increment();
+        }
+
+        if (pendingPushes.size() >= flushThreshold && thresholdFlushQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                thresholdFlushQueued.set(false);
+                flush();
+            });
+        }
+    }
+
+    public synchronized int flush() {
+        int pushed = 0;
+
+        for (UUID userId : pendingPushes.keySet()) {
+            LeaderboardOutboxEvent event = pendingPushes.remove(userId);
+            if (event == null) {
+                continue;
+            }
+
+            try {
+                if (push(event)) {
+                    pushed++;
+                }
+            } catch (RuntimeException e) {
+                // The claim lease is still on the outbox row, so the relay picks the event up again once it runs out.
+                logger.error("Could not settle leaderboard push for user {}", event.getUserId(), e);
+            } finally {
+                heldEventIds.remove(event.getId());
+            }
+        }
+
+        return pushed;
+    }
+
+    private boolean push(LeaderboardOutboxEvent event) {
+        try {
+            leaderboardClient.upsertScore(new CreateScoreRequest(event.getUserId(), event.getScore(), event.getUsername(), event.getAvatarUrl()), event.getUserId());
+        } catch (RuntimeException e) {
+            failed.increment();
+            leaderboardOutboxService.markFailed(event, e);
+            return false;
+        }
+
+        sent.increment();
+        leaderboardOutboxService.markSent(event);
+        return true;
+    }
+
+    public int getPendingCount() {
+        return pendingPushes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
@@ -4,7 +4,9 @@ import bg.softuni.onlinequizplatform.model.QuestionOption;
 import bg.softuni.onlinequizplatform.repository.QuestionOptionRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 public class QuestionOptionService {
@@ -26,4 +28,8 @@ public class QuestionOptionService {
     public void deleteQuestionOption(QuestionOption questionOption) {
         questionOptionRepository.delete(questionOption);
     }
+
+    public int deleteAllByQuizIds(Collection<UUID> quizIds) {
+        return questionOptionRepository.deleteAllByQuizIds(quizIds);
+    }
 }
@@ -4,7 +4,9 @@ import bg.softuni.onlinequizplatform.model.Question;
 import bg.softuni.onlinequizplatform.repository.QuestionRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 public class QuestionService {
@@ -26,4 +28,8 @@ public class QuestionService {
     public void deleteQuestion(Question question) {
         questionRepository.delete(question);
     }
+
+    public int deleteAllByQuizIds(Collection<UUID> quizIds) {
+        return questionRepository.deleteAllByQuizIds(quizIds);
+    }
 }
@@ -0,0 +1,101 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.CompiledQuiz;
+import bg.softuni.onlinequizplatform.model.QuizAttempt;
+import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.repository.ArchivedQuizAttemptRepository;
+import bg.softuni.onlinequizplatform.repository.QuizAttemptRepository;
+import bg.softuni.onlinequizplatform.web.dto.QuestionOptionRequest;
+import bg.softuni.onlinequizplatform.web.dto.QuestionRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+@Service
+public class QuizAttemptService {
+    private static final int RECENT_HISTORY_PAGE_SIZE = 10;
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final ArchivedQuizAttemptRepository archivedQuizAttemptRepository;
+    private final int archiveBatchSize;
+
+    public QuizAttemptService(QuizAttemptRepository quizAttemptRepository,
+                              ArchivedQuizAttemptRepository archivedQuizAttemptRepository,
+                              @Value("${quiz.attempts.archive-batch-size:500}") int archiveBatchSize) {
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.archivedQuizAttemptRepository = archivedQuizAttemptRepository;
+        this.archiveBatchSize = archiveBatchSize;
+    }
+
+    public QuizAttempt record(CompiledQuiz quiz, User user, int earnedScore, List<QuestionRequest> questions) {
+        return quizAttemptRepository.save(QuizAttempt.builder()
+                .quizId(quiz.getId())
+                .userId(user.getId())
+                .quizName(quiz.getName())
+                .category(quiz.getCategory())
+                .score(quiz.getScore())
+                .earnedScore(earnedScore)
+                .answers(encodeAnswers(questions))
+                .submittedOn(LocalDateTime.now())
+                .build());
+    }
+
+    public Slice<QuizAttempt> getRecentAttemptsByUser(UUID userId, int page) {
+        return quizAttemptRepository.findByUserIdOrderBySubmittedOnDesc(userId, PageRequest.of(Math.max(page, 0), RECENT_HISTORY_PAGE_SIZE));
+    }
+
+    @Transactional
+    public int archiveBatchSubmittedBefore(LocalDateTime cutoff) {
+        List<UUID> ids = quizAttemptRepository.findIdsSubmittedBefore(cutoff, Limit.of(archiveBatchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        quizAttemptRepository.copyToArchive(ids, LocalDateTime.now());
+        return quizAttemptRepository.deleteByIdIn(ids);
+    }
+
+    @Transactional
+    public int purgeArchivedBatchSubmittedBefore(LocalDateTime cutoff) {
+        List<UUID> ids = archivedQuizAttemptRepository.findIdsSubmittedBefore(cutoff, Limit.of(archiveBatchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return archivedQuizAttemptRepository.deleteByIdIn(ids);
+    }
+
+    public int getArchiveBatchSize() {
+        return archiveBatchSize;
+    }
+
+    static String encodeAnswers(List<QuestionRequest> questions) {
+        if (questions == null) {
+            return "";
+        }
+
+        StringJoiner answers = new StringJoiner(",");
+        for (QuestionRequest question : questions) {
+            UUID selected = null;
+            if (question.getOptions() != null) {
+                for (QuestionOptionRequest option : question.getOptions()) {
+                    if (Boolean.TRUE.equals(option.getIsSelected())) {
+                        selected = option.getId();
+                        break;
+                    }
+                }
+            }
+            answers.add(selected == null ? "" : selected.toString());
+        }
+
+        return answers.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.config.CacheConfiguration;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.QuizCursor;
+import bg.softuni.onlinequizplatform.model.QuizPage;
+import bg.softuni.onlinequizplatform.model.QuizSummary;
+import bg.softuni.onlinequizplatform.repository.QuizRepository;
+import bg.softuni.onlinequizplatform.repository.QuizSummaryRow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Service
+public class QuizCatalogService {
+    private final QuizRepository quizRepository;
+    private final int pageSize;
+    private final LoadingCache<Category, QuizPage> firstPages;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public QuizCatalogService(QuizRepository quizRepository,
+                              CaffeineCacheManager cacheManager,
+                              @Value("${cache.quizzes-by-category.spec:maximumSize=16,expireAfterWrite=10m,refreshAfterWrite=1m}") String spec,
+                              @Value("${quiz.catalog.page-size:12}") int pageSize) {
+        this.quizRepository = quizRepository;
+        this.pageSize = pageSize;
+
+        // Only the first page of each category is cached, later pages are cheap keyset reads on the category index.
+        this.firstPages = Caffeine.from(spec)
+                .recordStats()
+                .build(category -> toPage(quizRepository.findFirstPageByCategory(category, Limit.of(pageSize + 1))));
+        cacheManager.registerCustomCache(CacheConfiguration.QUIZZES_BY_CATEGORY, (Cache) firstPages);
+    }
+
+    public EnumMap<Category, QuizPage> getCatalog() {
+        return new EnumMap<>(firstPages.getAll(EnumSet.allOf(Category.class)));
+    }
+
+    public QuizPage getPage(Category category, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return firstPages.get(category);
+        }
+
+        QuizCursor after = QuizCursor.decode(cursor);
+        return toPage(quizRepository.findPageByCategoryAfter(category, after.getCreatedOn(), after.getId(), Limit.of(pageSize + 1)));
+    }
+
+    public void evict(Collection<Category> categories) {
+        if (categories.isEmpty()) {
+            return;
+        }
+
+        Set<Category> affected = EnumSet.copyOf(categories);
+        CacheEviction.nowAndAfterCompletion(() -> firstPages.invalidateAll(affected));
+    }
+
+    // Rows are fetched with one extra element, its presence is what tells us another page exists.
+    private QuizPage toPage(List<QuizSummaryRow> rows) {
+        List<QuizSummary> quizzes = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (QuizSummaryRow row : rows.subList(0, Math.min(rows.size(), pageSize))) {
+            quizzes.add(QuizSummary.builder()
+                    .id(row.getId())
+                    .name(row.getName())
+                    .description(row.getDescription())
+                    .imageUrl(row.getImageUrl())
+                    .category(row.getCategory())
+                    .score(row.getScore())
+                    .createdOn(row.getCreatedOn())
+                    .build());
+        }
+
+        String nextCursor = rows.size() > pageSize ? QuizCursor.after(quizzes.get(quizzes.size() - 1)).encode() : null;
+
+        return QuizPage.builder()
+                .quizzes(List.copyOf(quizzes))
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.AnswerKey;
+import bg.softuni.onlinequizplatform.web.dto.QuestionOptionRequest;
+import bg.softuni.onlinequizplatform.web.dto.QuestionRequest;
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+
+@UtilityClass
+public class QuizGrader {
+
+    public static int grade(AnswerKey answerKey, List<QuestionRequest> questions) {
+        if (questions == null || answerKey.getQuestionCount() == 0) {
+            return 0;
+        }
+
+        int answered = Math.min(questions.size(), answerKey.getQuestionCount());
+        int correctAnswers = 0;
+        for (int questionIndex = 0; questionIndex < answered; questionIndex++) {
+            List<QuestionOptionRequest> options = questions.get(questionIndex).getOptions();
+            if (options == null) {
+                continue;
+            }
+
+            for (int optionIndex = 0; optionIndex < options.size(); optionIndex++) {
+                QuestionOptionRequest option = options.get(optionIndex);
+                if (Boolean.TRUE.equals(option.getIsSelected())) {
+                    if (answerKey.isCorrect(questionIndex, option.getId())) {
+                        correctAnswers++;
+                    }
+                    break;
+                }
+            }
+        }
+
+        return correctAnswers * answerKey.getPointsPerQuestion();
+    }
+}
@@ -1,40 +1,41 @@
 package bg.softuni.onlinequizplatform.service;
 
-import bg.softuni.onlinequizplatform.client.LeaderboardClient;
 import bg.softuni.onlinequizplatform.model.*;
+import bg.softuni.onlinequizplatform.monitoring.QuizGradingEvent;
 import bg.softuni.onlinequizplatform.repository.QuizRepository;
-import bg.softuni.onlinequizplatform.web.dto.CreateScoreRequest;
 import bg.softuni.onlinequizplatform.web.dto.NewQuizRequest;
 import bg.softuni.onlinequizplatform.web.dto.QuestionOptionRequest;
 import bg.softuni.onlinequizplatform.web.dto.QuestionRequest;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 public class QuizService {
+    private static final int DELETE_BATCH_SIZE = 500;
 
     private final QuizRepository quizRepository;
     private final QuestionService questionService;
     private final QuestionOptionService questionOptionService;
-    private final LeaderboardClient leaderboardClient;
+    private final CompiledQuizService compiledQuizService;
+    private final QuizCatalogService quizCatalogService;
+    private final QuizAttemptService quizAttemptService;
 
 
-    public QuizService(QuizRepository quizRepository, QuestionService questionService, QuestionOptionService questionOptionService, LeaderboardClient leaderboardClient) {
+    public QuizService(QuizRepository quizRepository, QuestionService questionService, QuestionOptionService questionOptionService, CompiledQuizService compiledQuizService, QuizCatalogService quizCatalogService, QuizAttemptService quizAttemptService) {
         this.quizRepository = quizRepository;
         this.questionService = questionService;
         this.questionOptionService = questionOptionService;
-        this.leaderboardClient = leaderboardClient;
+        this.compiledQuizService = compiledQuizService;
+        this.quizCatalogService = quizCatalogService;
+        this.quizAttemptService = quizAttemptService;
     }
 
     @Transactional
-    @CacheEvict(value = "quizzesByCategory", allEntries = true)
+    @Timed(value = "quiz.create", histogram = true)
     public void createNewQuiz(NewQuizRequest newQuizRequest) {
         Quiz quiz = Quiz.builder()
                 .name(newQuizRequest.getName())
@@ -71,11 +72,8 @@ public class QuizService {
             questionService.save(currentQuestion);
         }
         quizRepository.save(quiz);
-    }
-
-    @Cacheable("quizzesByCategory")
-    public List<Quiz> getAllQuizzesByCategory(Category category) {
-        return quizRepository.findByCategory(category);
+        compiledQuizService.invalidate(List.of(quiz.getId()));
+        quizCatalogService.evict(List.of(quiz.getCategory()));
     }
 
     public Optional<Quiz> getById(UUID id) {
@@ -83,60 +81,67 @@ public class QuizService {
     }
 
     @Transactional
-    public void submitQuiz(NewQuizRequest quizRequest, User user) {
-        Optional<Quiz> optionalQuiz = getById(quizRequest.getId());
-        if (optionalQuiz.isEmpty()) {
-            throw new RuntimeException("Quiz not found: " + quizRequest.getId());
-        }
-
-        Quiz quiz = optionalQuiz.get();
-        int quizEarnedScore = getQuizEarnedScore(quizRequest);
-
-        quiz.setEarnedScore(quizEarnedScore);
-        quiz.setUser(user);
-        quizRepository.save(quiz);
+    @Timed(value = "quiz.submit", histogram = true)
+    public QuizAttempt submitQuiz(NewQuizRequest quizRequest, User user) {
+        CompiledQuiz quiz = getCompiledQuiz(quizRequest);
+        int quizEarnedScore = grade(quiz, quizRequest.getQuestions());
 
-        leaderboardClient.upsertScore(new CreateScoreRequest(user.getId(), user.getScore(), user.getUsername(), user.getAvatarUrl()), user.getId());
+        return quizAttemptService.record(quiz, user, quizEarnedScore, quizRequest.getQuestions());
     }
 
+    @Timed(value = "quiz.grade", histogram = true)
     public int getQuizEarnedScore(NewQuizRequest quizRequest) {
-        int quizScore;
-        int correctAnswers = 0;
-
-        for (QuestionRequest questionRequest : quizRequest.getQuestions()) {
-            for (QuestionOptionRequest questionOptionRequest : questionRequest.getOptions()) {
-                if (questionOptionRequest.getIsCorrect() && questionOptionRequest.getIsSelected()) {
-                    correctAnswers++;
-                }
-            }
-        }
+        return grade(getCompiledQuiz(quizRequest), quizRequest.getQuestions());
+    }
 
-        quizScore = (quizRequest.getScore() / quizRequest.getQuestions().size()) * correctAnswers;
+    private int grade(CompiledQuiz quiz, List<QuestionRequest> answers) {
+        QuizGradingEvent event = new QuizGradingEvent();
+        event.begin();
+        int earnedScore = QuizGrader.grade(quiz.getAnswerKey(), answers);
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.setQuizId(String.valueOf(quiz.getId()));
+            event.setQuestionCount(quiz.getQuestions().size());
+            event.setEarnedScore(earnedScore);
+            event.commit();
+        }
 
-        return quizScore;
+        return earnedScore;
     }
 
-    public List<Quiz> getAllQuizzesByUser(UUID id) {
-        return quizRepository.findAllByUser_IdOrderByUpdatedOnDesc(id);
+    private CompiledQuiz getCompiledQuiz(NewQuizRequest quizRequest) {
+        return compiledQuizService.getCompiledQuiz(quizRequest.getId())
+                .orElseThrow(() -> new RuntimeException("Quiz not found: " + quizRequest.getId()));
     }
 
-    @CacheEvict(value = "quizzesByCategory", allEntries = true)
+    @Transactional
+    @Timed(value = "quiz.delete", histogram = true)
     public void deleteQuizById(UUID id) {
-        Quiz quiz = quizRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Quiz not found: " + id));
-
-        List<Question> allQuestions = questionService.getAllQuestions();
-        for (Question question : allQuestions) {
-            if (question.getQuiz().getId().equals(quiz.getId())) {
-                List<QuestionOption> questionOptions = questionOptionService.getAllOptions();
-                for (QuestionOption questionOption : questionOptions) {
-                    if (questionOption.getQuestion().getId().equals(question.getId())) {
-                        questionOptionService.deleteQuestionOption(questionOption);
-                    }
-                }
-                questionService.deleteQuestion(question);
-            }
+        if (!quizRepository.existsById(id)) {
+            throw new IllegalArgumentException("Quiz not found: " + id);
+        }
+
+        deleteQuizzes(List.of(id));
+    }
+
+    @Transactional
+    @Timed(value = "quiz.delete.batch", histogram = true)
+    public void deleteQuizzesByIds(Collection<UUID> ids) {
+        List<UUID> distinctIds = ids.stream().distinct().toList();
+
+        for (int from = 0; from < distinctIds.size(); from += DELETE_BATCH_SIZE) {
+            deleteQuizzes(distinctIds.subList(from, Math.min(from + DELETE_BATCH_SIZE, distinctIds.size())));
         }
+    }
+
+    private void deleteQuizzes(List<UUID> ids) {
+        List<Category> categories = quizRepository.findCategoriesByIdIn(ids);
 
-        quizRepository.delete(quiz);
+        questionOptionService.deleteAllByQuizIds(ids);
+        questionService.deleteAllByQuizIds(ids);
+        quizRepository.deleteAllByIdInBatch(ids);
+        compiledQuizService.invalidate(ids);
+        quizCatalogService.evict(categories);
     }
 }
@@ -0,0 +1,268 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.RankedScore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indexable skip list ordered by score descending, then user id. Every forward link also stores how many
+ * entries it skips, which gives O(log n) rank lookups and positional access.
+ */
+public class RankedScoreIndex {
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Node> nodesByUser = new HashMap<>();
+    private Node head = new Node(null, null, null, 0, MAX_LEVEL);
+    private int level = 1;
+    private int length;
+
+    public void put(UUID userId, String username, String avatarUrl, int score) {
+        lock.writeLock().lock();
+        try {
+            Node existing = nodesByUser.get(userId);
+            if (existing != null) {
+                unlink(existing);
+            }
+            nodesByUser.put(userId, insert(userId, username, avatarUrl, score));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID userId) {
+        lock.writeLock().lock();
+        try {
+            Node existing = nodesByUser.remove(userId);
+            if (existing != null) {
+                unlink(existing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<RankedScore> scores) {
+        lock.writeLock().lock();
+        try {
+            head = new Node(null, null, null, 0, MAX_LEVEL);
+            level = 1;
+            length = 0;
+            nodesByUser.clear();
+            for (RankedScore score : scores) {
+                Node existing = nodesByUser.get(score.getUserId());
+                if (existing != null) {
+                    unlink(existing);
+                }
+                nodesByUser.put(score.getUserId(), insert(score.getUserId(), score.getUsername(), score.getAvatarUrl(), score.getScore()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the 1-based rank of the user, or 0 if the user is not indexed.
+     */
+    public int rankOf(UUID userId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodesByUser.get(userId);
+            return node == null ? 0 : rankOf(node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<RankedScore> top(int limit) {
+        lock.readLock().lock();
+        try {
+            return collect(1, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<RankedScore> around(UUID userId, int radius) {
+        lock.readLock().lock();
+        try {
+            Node node = nodesByUser.get(userId);
+            if (node == null) {
+                return List.of();
+            }
+
+            int rank = rankOf(node);
+            int fromRank = Math.max(1, rank - radius);
+            return collect(fromRank, rank + radius - fromRank + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<RankedScore> collect(int fromRank, int limit) {
+        List<RankedScore> result = new ArrayList<>(Math.max(0, Math.min(limit, length)));
+        Node node = nodeAt(fromRank);
+        int rank = fromRank;
+
+        while (node != null && result.size() < limit) {
+            result.add(RankedScore.builder()
+                    .rank(rank++)
+                    .userId(node.userId)
+                    .username(node.username)
+                    .avatarUrl(node.avatarUrl)
+                    .score(node.score)
+                    .build());
+            node = node.next[0];
+        }
+
+        return result;
+    }
+
+    private Node nodeAt(int rank) {
+        if (rank < 1 || rank > length) {
+            return null;
+        }
+
+        Node node = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= rank) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+            if (traversed == rank) {
+                return node;
+            }
+        }
+
+        return null;
+    }
+
+    private int rankOf(Node target) {
+        Node node = head;
+        int rank = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && (node.next[i] == target || precedes(node.next[i], target.score, target.userId))) {
+                rank += node.span[i];
+                node = node.next[i];
+            }
+            if (node == target) {
+                return rank;
+            }
+        }
+
+        return 0;
+    }
+
+    private Node insert(UUID userId, String username, String avatarUrl, int score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && precedes(node.next[i], score, userId)) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                update[i].span[i] = length;
+            }
+            level = nodeLevel;
+        }
+
+        Node inserted = new Node(userId, username, avatarUrl, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        length++;
+
+        return inserted;
+    }
+
+    private void unlink(Node target) {
+        Node[] update = new Node[MAX_LEVEL];
+
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i] != target && precedes(node.next[i], target.score, target.userId)) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        length--;
+    }
+
+    private static boolean precedes(Node node, int score, UUID userId) {
+        return node.score > score || (node.score == score && node.userId.compareTo(userId) < 0);
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && ThreadLocalRandom.current().nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node {
+        private final UUID userId;
+        private final String username;
+        private final String avatarUrl;
+        private final int score;
+        private final Node[] next;
+        private final int[] span;
+
+        private Node(UUID userId, String username, String avatarUrl, int score, int level) {
+            this.userId = userId;
+            this.username = username;
+            this.avatarUrl = avatarUrl;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
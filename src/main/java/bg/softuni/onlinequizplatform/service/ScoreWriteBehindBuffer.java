@@ -0,0 +1,73 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.ScoreDelta;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ScoreWriteBehindBuffer {
+    private final boolean enabled;
+    private final ConcurrentHashMap<UUID, ScoreDelta> pending = new ConcurrentHashMap<>();
+    // Drained but not yet committed score, still part of the projection until the flush completes.
+    private final ConcurrentHashMap<UUID, Long> inFlight = new ConcurrentHashMap<>();
+
+    public ScoreWriteBehindBuffer(MeterRegistry meterRegistry,
+                                 @Value("${score.write-behind.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        meterRegistry.gauge("score.write-behind.pending", pending, Map::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long add(UUID userId, long score) {
+        return add(userId, ScoreDelta.ofScore(score));
+    }
+
+    // merge() is atomic per user, so a concurrent drain() either takes this delta with it or leaves it for the next one.
+    public long add(UUID userId, ScoreDelta delta) {
+        return pending.merge(userId, delta, ScoreDelta::plus).getScore() + inFlight.getOrDefault(userId, 0L);
+    }
+
+    public long getPending(UUID userId) {
+        ScoreDelta delta = pending.get(userId);
+        return (delta == null ? 0 : delta.getScore()) + inFlight.getOrDefault(userId, 0L);
+    }
+
+    public Map<UUID, ScoreDelta> drain() {
+        Map<UUID, ScoreDelta> deltas = new HashMap<>();
+
+        // Moved under the per-user lock, so a concurrent add() sees the delta either as pending or as in flight.
+        for (UUID userId : pending.keySet()) {
+            pending.computeIfPresent(userId, (id, delta) -> {
+                inFlight.merge(id, delta.getScore(), Long::sum);
+                deltas.put(id, delta);
+                return null;
+            });
+        }
+
+        return deltas;
+    }
+
+    public void complete(Map<UUID, ScoreDelta> deltas) {
+        deltas.forEach((userId, delta) -> release(userId, delta.getScore()));
+    }
+
+    public void restore(Map<UUID, ScoreDelta> deltas) {
+        deltas.forEach((userId, delta) -> pending.compute(userId, (id, current) -> {
+            release(id, delta.getScore());
+            return current == null ? delta : current.plus(delta);
+        }));
+    }
+
+    private void release(UUID userId, long score) {
+        inFlight.computeIfPresent(userId, (id, total) -> total == score ? null : total - score);
+    }
+}
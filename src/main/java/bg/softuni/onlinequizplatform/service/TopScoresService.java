@@ -0,0 +1,130 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.model.TopScoresSnapshot;
+import bg.softuni.onlinequizplatform.web.dto.UserScoreResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class TopScoresService {
+    private static final Logger logger = LoggerFactory.getLogger(TopScoresService.class);
+    private static final TopScoresSnapshot UNAVAILABLE = TopScoresSnapshot.builder().scores(List.of()).stale(true).build();
+
+    private final LeaderboardClient leaderboardClient;
+    private final Executor refreshExecutor;
+    private final long freshForMs;
+    private final long failureBackoffMs;
+    private final AtomicReference<TopScoresSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<TopScoresSnapshot>> coldLoad = new AtomicReference<>();
+    private final AtomicReference<LocalDateTime> coldLoadRetryOn = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong generation = new AtomicLong();
+
+    public TopScoresService(LeaderboardClient leaderboardClient,
+                            @Qualifier("applicationTaskExecutor") Executor refreshExecutor,
+                            @Value("${leaderboard.top-scores.fresh-for-ms:10000}") long freshForMs,
+                            @Value("${leaderboard.top-scores.failure-backoff-ms:2000}") long failureBackoffMs) {
+        this.leaderboardClient = leaderboardClient;
+        this.refreshExecutor = refreshExecutor;
+        this.freshForMs = freshForMs;
+        this.failureBackoffMs = failureBackoffMs;
+    }
+
+    public TopScoresSnapshot getTopScores() {
+        TopScoresSnapshot current = snapshot.get();
+        if (current == null) {
+            return loadCold();
+        }
+
+        if (current.getFetchedOn().plusNanos(freshForMs * 1_000_000).isBefore(LocalDateTime.now())) {
+            refreshInBackground();
+        }
+
+        return current;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    private TopScoresSnapshot loadCold() {
+        // A recent failure is served as-is so a down leaderboard is not hit by every request.
+        LocalDateTime retryOn = coldLoadRetryOn.get();
+        if (retryOn != null && retryOn.isAfter(LocalDateTime.now())) {
+            return UNAVAILABLE;
+        }
+
+        CompletableFuture<TopScoresSnapshot> load = new CompletableFuture<>();
+        CompletableFuture<TopScoresSnapshot> inFlight = coldLoad.compareAndExchange(null, load);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+
+        try {
+            load.complete(fetch(generation.get()));
+            coldLoadRetryOn.set(null);
+        } catch (RuntimeException e) {
+            logger.warn("Could not load top scores from the leaderboard service: {}", e.getMessage());
+            // No fetchedOn: nothing was loaded, so the page must not claim to show rankings from any point in time.
+            coldLoadRetryOn.set(LocalDateTime.now().plusNanos(failureBackoffMs * 1_000_000));
+            load.complete(UNAVAILABLE);
+        } finally {
+            coldLoad.set(null);
+        }
+
+        return load.join();
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        long expectedGeneration = generation.get();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    fetch(expectedGeneration);
+                } catch (RuntimeException e) {
+                    logger.warn("Serving stale top scores, refresh failed: {}", e.getMessage());
+                    snapshot.updateAndGet(current -> current == null ? null : current.withStale(true));
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.set(false);
+            logger.warn("Could not schedule top scores refresh: {}", e.getMessage());
+        }
+    }
+
+    private TopScoresSnapshot fetch(long expectedGeneration) {
+        List<UserScoreResponse> scores = leaderboardClient.getTopScores();
+
+        TopScoresSnapshot fresh = TopScoresSnapshot.builder()
+                .scores(scores == null ? List.of() : List.copyOf(scores))
+                .fetchedOn(LocalDateTime.now())
+                .stale(false)
+                .build();
+
+        // An invalidation while the request was in flight means this result may predate it.
+        if (generation.get() == expectedGeneration) {
+            snapshot.set(fresh);
+        }
+
+        return fresh;
+    }
+}
@@ -0,0 +1,49 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.security.UserData;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Service
+public class UserDetailsCacheService {
+    public static final String USER_DETAILS = "userDetails";
+
+    private final Cache<String, UserData> userDetails;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public UserDetailsCacheService(CaffeineCacheManager cacheManager,
+                                   @Value("${cache.user-details.spec:maximumSize=10000,expireAfterWrite=5m}") String spec) {
+        this.userDetails = Caffeine.from(spec).recordStats().build();
+        cacheManager.registerCustomCache(USER_DETAILS, (Cache) userDetails);
+    }
+
+    public UserData get(String username, Function<String, UserData> loader) {
+        UserData cached = userDetails.get(username, loader);
+
+        // Spring Security may erase credentials on the principal it receives, so callers never get the cached instance.
+        return new UserData(cached.getUserId(), cached.getUsername(), cached.getPassword(), cached.getRole(), cached.isAccountActive());
+    }
+
+    public void evict(String... usernames) {
+        List<String> keys = List.of(usernames);
+        CacheEviction.nowAndAfterCompletion(() -> userDetails.invalidateAll(keys));
+    }
+
+    public void evictUsers(Collection<UUID> userIds) {
+        Set<UUID> ids = Set.copyOf(userIds);
+        CacheEviction.nowAndAfterCompletion(() -> userDetails.asMap().values().removeIf(user -> ids.contains(user.getUserId())));
+    }
+
+    public void evictAll() {
+        CacheEviction.nowAndAfterCompletion(userDetails::invalidateAll);
+    }
+}
@@ -3,24 +3,32 @@ package bg.softuni.onlinequizplatform.service;
 import bg.softuni.onlinequizplatform.exception.PasswordMismatchException;
 import bg.softuni.onlinequizplatform.exception.UserNotFoundException;
 import bg.softuni.onlinequizplatform.exception.UsernameAlreadyExistException;
-import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.model.CurrentUserView;
+import bg.softuni.onlinequizplatform.model.ScoreDelta;
 import bg.softuni.onlinequizplatform.model.User;
 import bg.softuni.onlinequizplatform.model.UserRole;
+import bg.softuni.onlinequizplatform.monitoring.ScoreUpdateEvent;
+import bg.softuni.onlinequizplatform.repository.UserProgressRow;
 import bg.softuni.onlinequizplatform.repository.UserRepository;
 import bg.softuni.onlinequizplatform.security.UserData;
 import bg.softuni.onlinequizplatform.web.dto.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -30,21 +38,41 @@ public class UserService implements UserDetailsService {
     private static final String DEFAULT_AVATAR_URL = "https://www.shutterstock.com/image-photo/generate-quiz-night-poster-cartoon-260nw-2471934001.jpg";
     private static final int DEFAULT_SCORE = 0;
     private static final int DEFAULT_LEVEL = 1;
+    private static final int POINTS_PER_LEVEL = 1000;
+    private static final int QUIZMASTER_PROMOTION_SCORE = 10000;
     private final QuizService quizService;
+    private final LeaderboardRankService leaderboardRankService;
+    private final ScoreWriteBehindBuffer scoreWriteBehindBuffer;
+    private final CurrentUserService currentUserService;
+    private final UserDetailsCacheService userDetailsCacheService;
+    private final SessionRegistry sessionRegistry;
+    private final LeaderboardOutboxService leaderboardOutboxService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, QuizService quizService) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, QuizService quizService, LeaderboardRankService leaderboardRankService, ScoreWriteBehindBuffer scoreWriteBehindBuffer, CurrentUserService currentUserService, UserDetailsCacheService userDetailsCacheService, SessionRegistry sessionRegistry, LeaderboardOutboxService leaderboardOutboxService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.quizService = quizService;
+        this.leaderboardRankService = leaderboardRankService;
+        this.scoreWriteBehindBuffer = scoreWriteBehindBuffer;
+        this.currentUserService = currentUserService;
+        this.userDetailsCacheService = userDetailsCacheService;
+        this.sessionRegistry = sessionRegistry;
+        this.leaderboardOutboxService = leaderboardOutboxService;
     }
 
     @Override
+    @Timed(value = "user.details.load", histogram = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsCacheService.get(username, this::loadUserData);
+    }
+
+    private UserData loadUserData(String username) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("User Not Found"));
 
         return new UserData(user.getId(), username, user.getPassword(), user.getRole(), user.isActive());
     }
 
+    @Timed(value = "user.register", histogram = true)
     public void register(RegisterRequest registerRequest) {
         logger.info("Attempting to register user '{}'", registerRequest.getUsername());
 
@@ -74,6 +102,7 @@ public class UserService implements UserDetailsService {
                 .build();
 
         userRepository.save(user);
+        leaderboardRankService.update(user);
         logger.info("User registered successfully");
     }
 
@@ -81,10 +110,8 @@ public class UserService implements UserDetailsService {
         return userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("User Not Found"));
     }
 
-    public int getAverageSuccessPercent(User user) {
-        List<Quiz> quizzes = quizService.getAllQuizzesByUser(user.getId());
-
-        return quizzes.isEmpty() ? 0 : user.getScore() / (quizzes.size() * 2);
+    public int getAverageSuccessPercent(CurrentUserView user) {
+        return user.getPossiblePoints() == 0 ? 0 : (int) (user.getEarnedPoints() * 100 / user.getPossiblePoints());
     }
 
     public List<User> getAllUsers() {
@@ -95,6 +122,10 @@ public class UserService implements UserDetailsService {
         User user = getByUsername(username);
 
         userRepository.delete(user);
+        leaderboardRankService.remove(user.getId());
+        currentUserService.evict(user.getId());
+        userDetailsCacheService.evict(username);
+        expireSessions(user.getId());
     }
 
     public User getById(UUID id) {
@@ -103,10 +134,12 @@ public class UserService implements UserDetailsService {
 
     public void updateProfile(EditProfileRequest editProfileRequest) {
         User user = getByUsername(editProfileRequest.getUsername());
+        String previousUsername = user.getUsername();
 
         user.setUsername(editProfileRequest.getUsername());
-        if (passwordEncoder.matches(passwordEncoder.encode(editProfileRequest.getPassword()), user.getPassword()) && !editProfileRequest.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(editProfileRequest.getPassword()));
+        if (StringUtils.hasLength(editProfileRequest.getNewPassword())
+                && passwordEncoder.matches(editProfileRequest.getPassword(), user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(editProfileRequest.getNewPassword()));
         }
         user.setEmail(editProfileRequest.getEmail());
         user.setAvatarUrl(editProfileRequest.getAvatarUrl());
@@ -114,10 +147,14 @@ public class UserService implements UserDetailsService {
         user.setLevel(editProfileRequest.getLevel());
 
         userRepository.save(user);
+        leaderboardRankService.update(user);
+        currentUserService.evict(user.getId());
+        userDetailsCacheService.evict(previousUsername, user.getUsername());
     }
 
     public void updateUserProfile(String username, EditUserRequest editUserRequest) {
         User user = getByUsername(username);
+        String previousUsername = user.getUsername();
         user.setUsername(editUserRequest.getUsername());
         user.setAvatarUrl(editUserRequest.getAvatarUrl());
         user.setScore(editUserRequest.getScore());
@@ -130,6 +167,21 @@ public class UserService implements UserDetailsService {
         user.setEmail(editUserRequest.getEmail());
 
         userRepository.save(user);
+        leaderboardRankService.update(user);
+        currentUserService.evict(user.getId());
+        userDetailsCacheService.evict(previousUsername, user.getUsername());
+        if (!user.isActive()) {
+            expireSessions(user.getId());
+        }
+    }
+
+    // Signed-in sessions keep the principal they logged in with, so they are expired and the next request is sent back to login.
+    private void expireSessions(UUID userId) {
+        for (Object principal : sessionRegistry.getAllPrincipals()) {
+            if (principal instanceof UserData userData && userId.equals(userData.getUserId())) {
+                sessionRegistry.getAllSessions(principal, false).forEach(SessionInformation::expireNow);
+            }
+        }
     }
 
     public List<User> getUsersByRole(UserRole userRole) {
@@ -138,19 +190,137 @@ public class UserService implements UserDetailsService {
 
     public void save(User user) {
         userRepository.save(user);
+        leaderboardRankService.update(user);
+        currentUserService.evict(user.getId());
+        userDetailsCacheService.evict(user.getUsername());
     }
 
+    @Transactional
+    @Timed(value = "user.score.update", histogram = true)
     public void setNewScore(User user, int quizScore) {
-        int score = user.getScore();
-        user.setScore(score + quizScore);
-        user.setLevel(user.getScore() / 1000 + 1);
-        user.setUpdatedOn(LocalDateTime.now());
+        applyScoreDelta(user, ScoreDelta.ofScore(quizScore));
+    }
+
+    // Score and result counters go out in one row write, or in write-behind mode in the next flush.
+    @Transactional
+    @Timed(value = "user.score.update", histogram = true)
+    public void recordQuizResult(User user, int earnedScore, int possibleScore) {
+        applyScoreDelta(user, ScoreDelta.ofQuizResult(earnedScore, possibleScore));
+        leaderboardOutboxService.enqueueScore(user);
+    }
+
+    private void applyScoreDelta(User user, ScoreDelta delta) {
+        ScoreUpdateEvent event = new ScoreUpdateEvent();
+        event.begin();
+        boolean writeBehind = scoreWriteBehindBuffer.isEnabled();
+        try {
+            if (writeBehind) {
+                bufferNewScore(user, delta);
+            } else {
+                writeNewScore(user, delta);
+            }
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setUserId(String.valueOf(user.getId()));
+                event.setPoints(Math.toIntExact(delta.getScore()));
+                event.setWriteBehind(writeBehind);
+                event.commit();
+            }
+        }
+    }
+
+    private void writeNewScore(User user, ScoreDelta delta) {
+        int updatedUsers = incrementScores(List.of(user.getId()), delta, LocalDateTime.now());
+        if (updatedUsers == 0) {
+            throw new UserNotFoundException("User Not Found");
+        }
+
+        // The UPDATE keeps the row locked until commit, so this reads exactly the values it produced.
+        UserProgressRow progress = userRepository.findProgressById(user.getId())
+                .orElseThrow(() -> new UserNotFoundException("User Not Found"));
+
+        if (progress.getRole() != user.getRole()) {
+            userDetailsCacheService.evict(user.getUsername());
+        }
+        user.setScore(progress.getScore());
+        user.setLevel(progress.getLevel());
+        user.setRole(progress.getRole());
+        user.setUpdatedOn(progress.getUpdatedOn());
+        leaderboardRankService.update(user);
+        currentUserService.evict(user.getId());
+    }
+
+    // The user row only sees the delta on the next flush, until then score, level and role are projected from the buffer.
+    private void bufferNewScore(User user, ScoreDelta delta) {
+        long pending = scoreWriteBehindBuffer.add(user.getId(), delta);
 
-        if (user.getScore() > 10000 && user.getRole() != UserRole.ADMIN && user.getRole() != UserRole.QUIZMASTER) {
+        user.setScore(Math.toIntExact(user.getScore() + pending));
+        user.setLevel(user.getScore() / POINTS_PER_LEVEL + 1);
+        if (user.getScore() > QUIZMASTER_PROMOTION_SCORE && user.getRole() == UserRole.PLAYER) {
             user.setRole(UserRole.QUIZMASTER);
         }
+        leaderboardRankService.update(user);
+    }
 
-        userRepository.save(user);
+    @Transactional
+    public int flushPendingScores() {
+        Map<UUID, ScoreDelta> deltas = scoreWriteBehindBuffer.drain();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        Map<ScoreDelta, List<UUID>> usersByDelta = new HashMap<>();
+        deltas.forEach((userId, delta) -> usersByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(userId));
+
+        // Drained deltas stay in the projection until the rows are committed, or go back to pending on rollback.
+        boolean synchronizationActive = TransactionSynchronizationManager.isSynchronizationActive();
+        if (synchronizationActive) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        scoreWriteBehindBuffer.complete(deltas);
+                    } else {
+                        logger.warn("Flushing {} pending score deltas failed, keeping them for the next flush", deltas.size());
+                        scoreWriteBehindBuffer.restore(deltas);
+                    }
+                }
+            });
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<ScoreDelta, List<UUID>> entry : usersByDelta.entrySet()) {
+            incrementScores(entry.getValue(), entry.getKey(), now);
+        }
+
+        if (!synchronizationActive) {
+            scoreWriteBehindBuffer.complete(deltas);
+        }
+
+        // Any of the flushed users may have crossed the promotion score, and their result counters changed.
+        userDetailsCacheService.evictUsers(deltas.keySet());
+        deltas.keySet().forEach(currentUserService::evict);
+
+        return deltas.size();
+    }
+
+    private int incrementScores(List<UUID> userIds, ScoreDelta delta, LocalDateTime now) {
+        return userRepository.incrementScores(userIds, Math.toIntExact(delta.getScore()), delta.getQuizzesTaken(),
+                delta.getEarnedPoints(), delta.getPossiblePoints(), delta.getBestResultPercent(), now,
+                POINTS_PER_LEVEL, QUIZMASTER_PROMOTION_SCORE, UserRole.PLAYER, UserRole.QUIZMASTER);
+    }
+
+    public int addBonusToUsersActiveSince(int bonus, LocalDateTime since) {
+        int updatedUsers = userRepository.addBonusToUsersUpdatedAfter(bonus, since, LocalDateTime.now(),
+                POINTS_PER_LEVEL, QUIZMASTER_PROMOTION_SCORE, UserRole.PLAYER, UserRole.QUIZMASTER);
+
+        if (updatedUsers > 0) {
+            leaderboardRankService.rebuild();
+            userDetailsCacheService.evictAll();
+        }
+
+        return updatedUsers;
     }
 
     public List<UserScoreResponse> getScoresAfterTopThree(List<UserScoreResponse> topScores) {
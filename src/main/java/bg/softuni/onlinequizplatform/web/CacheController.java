@@ -0,0 +1,24 @@
+package bg.softuni.onlinequizplatform.web;
+
+import bg.softuni.onlinequizplatform.service.CacheInspectionService;
+import bg.softuni.onlinequizplatform.web.dto.CacheDetailsResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class CacheController {
+    private final CacheInspectionService cacheInspectionService;
+
+    public CacheController(CacheInspectionService cacheInspectionService) {
+        this.cacheInspectionService = cacheInspectionService;
+    }
+
+    @GetMapping("/admin/caches")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<CacheDetailsResponse> getCaches() {
+        return cacheInspectionService.getCacheDetails();
+    }
+}
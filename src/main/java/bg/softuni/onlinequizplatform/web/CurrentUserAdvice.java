@@ -0,0 +1,24 @@
+package bg.softuni.onlinequizplatform.web;
+
+import bg.softuni.onlinequizplatform.model.CurrentUserView;
+import bg.softuni.onlinequizplatform.security.UserData;
+import bg.softuni.onlinequizplatform.service.CurrentUserService;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+@ControllerAdvice
+public class CurrentUserAdvice {
+    public static final String CURRENT_USER = "currentUser";
+
+    private final CurrentUserService currentUserService;
+
+    public CurrentUserAdvice(CurrentUserService currentUserService) {
+        this.currentUserService = currentUserService;
+    }
+
+    @ModelAttribute(CURRENT_USER)
+    public CurrentUserView currentUser(@AuthenticationPrincipal UserData userData) {
+        return userData == null ? null : currentUserService.get(userData.getUserId());
+    }
+}
@@ -0,0 +1,41 @@
+package bg.softuni.onlinequizplatform.web;
+
+import bg.softuni.onlinequizplatform.service.FlightRecordingService;
+import bg.softuni.onlinequizplatform.web.dto.FlightRecordingResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class FlightRecordingController {
+    private final FlightRecordingService flightRecordingService;
+
+    public FlightRecordingController(FlightRecordingService flightRecordingService) {
+        this.flightRecordingService = flightRecordingService;
+    }
+
+    @GetMapping("/admin/recordings")
+    @PreAuthorize("hasRole('ADMIN')")
+    public FlightRecordingResponse getStatus() {
+        return flightRecordingService.getStatus();
+    }
+
+    @PostMapping("/admin/recordings/start")
+    @PreAuthorize("hasRole('ADMIN')")
+    public FlightRecordingResponse start() {
+        return flightRecordingService.start();
+    }
+
+    @PostMapping("/admin/recordings/dump")
+    @PreAuthorize("hasRole('ADMIN')")
+    public FlightRecordingResponse dump() {
+        return flightRecordingService.dump();
+    }
+
+    @PostMapping("/admin/recordings/stop")
+    @PreAuthorize("hasRole('ADMIN')")
+    public FlightRecordingResponse stop() {
+        return flightRecordingService.stop();
+    }
+}
@@ -1,9 +1,13 @@
 package bg.softuni.onlinequizplatform.web;
 
+import bg.softuni.onlinequizplatform.exception.PasswordHashingUnavailableException;
 import bg.softuni.onlinequizplatform.exception.PasswordMismatchException;
 import bg.softuni.onlinequizplatform.exception.UserNotFoundException;
 import bg.softuni.onlinequizplatform.exception.UsernameAlreadyExistException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -36,6 +40,26 @@ public class GlobalControllerAdvice {
         return "redirect:/register";
     }
 
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ModelAndView handleExceptionPasswordHashingUnavailable(PasswordHashingUnavailableException e, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+
+        ModelAndView modelAndView = new ModelAndView();
+        modelAndView.setViewName("default-error");
+
+        return modelAndView;
+    }
+
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    @ExceptionHandler(AccessDeniedException.class)
+    public ModelAndView handleExceptionAccessDenied() {
+        ModelAndView modelAndView = new ModelAndView();
+        modelAndView.setViewName("default-error");
+
+        return modelAndView;
+    }
+
     @ExceptionHandler(Exception.class)
     public ModelAndView handleExceptionAllNotCaught() {
         ModelAndView modelAndView = new ModelAndView();
@@ -1,8 +1,10 @@
 package bg.softuni.onlinequizplatform.web;
 
 import bg.softuni.onlinequizplatform.client.LeaderboardClient;
-import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.model.TopScoresSnapshot;
 import bg.softuni.onlinequizplatform.security.UserData;
+import bg.softuni.onlinequizplatform.service.LeaderboardRankService;
+import bg.softuni.onlinequizplatform.service.TopScoresService;
 import bg.softuni.onlinequizplatform.service.UserService;
 import bg.softuni.onlinequizplatform.web.dto.UserScoreResponse;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,27 +20,37 @@ import java.util.UUID;
 
 @Controller
 public class LeaderboardController {
+    private static final int RANK_NEIGHBOURHOOD_RADIUS = 2;
 
     private final LeaderboardClient leaderboardClient;
     private final UserService userService;
+    private final TopScoresService topScoresService;
+    private final LeaderboardRankService leaderboardRankService;
 
-    public LeaderboardController(LeaderboardClient leaderboardClient, UserService userService) {
+    public LeaderboardController(LeaderboardClient leaderboardClient, UserService userService, TopScoresService topScoresService, LeaderboardRankService leaderboardRankService) {
         this.leaderboardClient = leaderboardClient;
         this.userService = userService;
+        this.topScoresService = topScoresService;
+        this.leaderboardRankService = leaderboardRankService;
     }
 
     @GetMapping("/leaderboard")
     public ModelAndView showLeaderboard(@AuthenticationPrincipal UserData userData) {
-        List<UserScoreResponse> topScores = leaderboardClient.getTopScores();
+        UUID userId = userData.getUserId();
+        TopScoresSnapshot topScoresSnapshot = topScoresService.getTopScores();
+        List<UserScoreResponse> topScores = topScoresSnapshot.getScores();
         ModelAndView modelAndView = new ModelAndView();
         modelAndView.setViewName("leaderboard");
 
-        User user = userService.getById(userData.getUserId());
         List<UserScoreResponse> scoresAfterTopThree = userService.getScoresAfterTopThree(topScores);
 
         modelAndView.addObject("topScores", topScores);
-        modelAndView.addObject("user", user);
         modelAndView.addObject("scoresAfterTopThree", scoresAfterTopThree);
+        modelAndView.addObject("topScoresStale", topScoresSnapshot.isStale());
+        modelAndView.addObject("topScoresUpdatedOn", topScoresSnapshot.getFetchedOn());
+        modelAndView.addObject("myRank", leaderboardRankService.getRank(userId));
+        modelAndView.addObject("rankedUserCount", leaderboardRankService.getRankedUserCount());
+        modelAndView.addObject("rankNeighbours", leaderboardRankService.getNeighbours(userId, RANK_NEIGHBOURHOOD_RADIUS));
 
         return modelAndView;
     }
@@ -47,6 +59,7 @@ public class LeaderboardController {
     @PreAuthorize("hasRole('ADMIN')")
     public String deleteAll() {
         leaderboardClient.deleteAllScores();
+        topScoresService.invalidate();
         return "redirect:/leaderboard";
     }
 
@@ -54,6 +67,7 @@ public class LeaderboardController {
     @PreAuthorize("hasRole('ADMIN')")
     public String deleteScore(@PathVariable("id") UUID id) {
         leaderboardClient.deleteScore(id);
+        topScoresService.invalidate();
         return "redirect:/leaderboard";
     }
 
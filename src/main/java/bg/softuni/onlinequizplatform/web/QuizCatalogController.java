@@ -0,0 +1,28 @@
+package bg.softuni.onlinequizplatform.web;
+
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.QuizPage;
+import bg.softuni.onlinequizplatform.service.QuizCatalogService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+@RestController
+public class QuizCatalogController {
+    private final QuizCatalogService quizCatalogService;
+
+    public QuizCatalogController(QuizCatalogService quizCatalogService) {
+        this.quizCatalogService = quizCatalogService;
+    }
+
+    @GetMapping("/quizzes/{category}/page")
+    public QuizPage getQuizPage(@PathVariable("category") Category category,
+                                @RequestParam(value = "cursor", required = false) String cursor) {
+        return quizCatalogService.getPage(category, cursor);
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, MethodArgumentTypeMismatchException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public void handleBadPageRequest() {
+    }
+}
@@ -1,9 +1,13 @@
 package bg.softuni.onlinequizplatform.web;
 
-import bg.softuni.onlinequizplatform.model.Category;
-import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.model.CompiledQuiz;
+import bg.softuni.onlinequizplatform.model.QuizAttempt;
 import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.model.UserRole;
+import bg.softuni.onlinequizplatform.monitoring.QuizSubmissionEvent;
 import bg.softuni.onlinequizplatform.security.UserData;
+import bg.softuni.onlinequizplatform.service.CompiledQuizService;
+import bg.softuni.onlinequizplatform.service.QuizCatalogService;
 import bg.softuni.onlinequizplatform.service.QuizService;
 import bg.softuni.onlinequizplatform.service.UserService;
 import bg.softuni.onlinequizplatform.web.dto.DtoMapperQuiz;
@@ -17,10 +21,10 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Controller
@@ -29,11 +33,15 @@ public class QuizController {
     private final QuizService quizService;
     private final DtoMapperQuiz dtoMapperQuiz;
     private final UserService userService;
+    private final CompiledQuizService compiledQuizService;
+    private final QuizCatalogService quizCatalogService;
 
-    public QuizController(QuizService quizService, UserService userService, DtoMapperQuiz dtoMapperQuiz) {
+    public QuizController(QuizService quizService, UserService userService, DtoMapperQuiz dtoMapperQuiz, CompiledQuizService compiledQuizService, QuizCatalogService quizCatalogService) {
         this.quizService = quizService;
         this.dtoMapperQuiz = dtoMapperQuiz;
         this.userService = userService;
+        this.compiledQuizService = compiledQuizService;
+        this.quizCatalogService = quizCatalogService;
     }
 
     @GetMapping("/quizzes")
@@ -41,15 +49,8 @@ public class QuizController {
         ModelAndView modelAndView = new ModelAndView();
         modelAndView.setViewName("quizzes");
 
-        User user = userService.getByUsername(userData.getUsername());
-        List<Quiz> quizzesGeography = quizService.getAllQuizzesByCategory(Category.GEOGRAPHY);
-        List<Quiz> quizzesHistory = quizService.getAllQuizzesByCategory(Category.HISTORY);
-        List<Quiz> quizzesMusic = quizService.getAllQuizzesByCategory(Category.MUSIC);
-
-        modelAndView.addObject("quizzesGeography", quizzesGeography);
-        modelAndView.addObject("quizzesHistory", quizzesHistory);
-        modelAndView.addObject("quizzesMusic", quizzesMusic);
-        modelAndView.addObject("user", user);
+        modelAndView.addObject("catalog", quizCatalogService.getCatalog());
+        modelAndView.addObject("isAdmin", userData.getRole() == UserRole.ADMIN);
 
         return modelAndView;
     }
@@ -80,14 +81,10 @@ public class QuizController {
 
     @GetMapping("/quiz/{id}")
     public ModelAndView getQuizPage(@PathVariable("id") UUID id) {
-        Optional<Quiz> quizById = quizService.getById(id);
-
-        if (quizById.isEmpty()) {
-            throw new RuntimeException("Quiz not found: " + id);
-        }
+        CompiledQuiz compiledQuiz = compiledQuizService.getCompiledQuiz(id)
+                .orElseThrow(() -> new RuntimeException("Quiz not found: " + id));
 
-        Quiz quizOriginal = quizById.get();
-        NewQuizRequest quiz = dtoMapperQuiz.fromQuizToNewQuizRequest(quizOriginal);
+        NewQuizRequest quiz = dtoMapperQuiz.fromCompiledQuizToNewQuizRequest(compiledQuiz);
 
         ModelAndView modelAndView = new ModelAndView();
         modelAndView.setViewName("quiz");
@@ -104,13 +101,34 @@ public class QuizController {
         return "redirect:/quizzes";
     }
 
+    @DeleteMapping("/quizzes/delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public String deleteQuizzes(@RequestParam(value = "ids", required = false) List<UUID> ids) {
+        if (ids != null && !ids.isEmpty()) {
+            quizService.deleteQuizzesByIds(ids);
+        }
+
+        return "redirect:/quizzes";
+    }
+
     @PostMapping("/quiz/submit")
     public ModelAndView submitQuiz(NewQuizRequest quizRequest, @AuthenticationPrincipal UserData userData) {
+        QuizSubmissionEvent event = new QuizSubmissionEvent();
+        event.begin();
+
         User user = userService.getById(userData.getUserId());
-        int quizEarnedScore = quizService.getQuizEarnedScore(quizRequest);
 
-        userService.setNewScore(user, quizEarnedScore);
-        quizService.submitQuiz(quizRequest, user);
+        // Graded once inside submitQuiz, the event reuses the recorded attempt.
+        QuizAttempt attempt = quizService.submitQuiz(quizRequest, user);
+        userService.recordQuizResult(user, attempt.getEarnedScore(), attempt.getScore());
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.setQuizId(String.valueOf(quizRequest.getId()));
+            event.setQuestionCount(quizRequest.getQuestions() == null ? 0 : quizRequest.getQuestions().size());
+            event.setEarnedScore(attempt.getEarnedScore());
+            event.commit();
+        }
 
         return new ModelAndView("redirect:/quizzes");
     }
@@ -1,24 +1,26 @@
 package bg.softuni.onlinequizplatform.web;
 
-import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.model.CurrentUserView;
+import bg.softuni.onlinequizplatform.model.QuizAttempt;
 import bg.softuni.onlinequizplatform.model.User;
 import bg.softuni.onlinequizplatform.model.UserRole;
-import bg.softuni.onlinequizplatform.security.UserData;
-import bg.softuni.onlinequizplatform.service.QuizService;
+import bg.softuni.onlinequizplatform.service.QuizAttemptService;
 import bg.softuni.onlinequizplatform.service.UserService;
 import bg.softuni.onlinequizplatform.web.dto.DtoMapperProfile;
 import bg.softuni.onlinequizplatform.web.dto.DtoMapperUser;
 import bg.softuni.onlinequizplatform.web.dto.EditProfileRequest;
 import bg.softuni.onlinequizplatform.web.dto.EditUserRequest;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.util.List;
@@ -27,24 +29,23 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
-    private final QuizService quizService;
+    private final QuizAttemptService quizAttemptService;
 
-    public UserController(UserService userService, QuizService quizService) {
+    public UserController(UserService userService, QuizAttemptService quizAttemptService) {
         this.userService = userService;
-        this.quizService = quizService;
+        this.quizAttemptService = quizAttemptService;
     }
 
     @GetMapping("/home")
-    public ModelAndView getHomePage(@AuthenticationPrincipal UserData userData) {
-        User user = userService.getByUsername(userData.getUsername());
-        int averageScore = userService.getAverageSuccessPercent(user);
-        List<Quiz> quizzes = quizService.getAllQuizzesByUser(user.getId());
+    public ModelAndView getHomePage(@ModelAttribute(CurrentUserAdvice.CURRENT_USER) CurrentUserView currentUser,
+                                    @RequestParam(value = "historyPage", defaultValue = "0") int historyPage) {
+        int averageScore = userService.getAverageSuccessPercent(currentUser);
+        Slice<QuizAttempt> attempts = quizAttemptService.getRecentAttemptsByUser(currentUser.getId(), historyPage);
 
         ModelAndView modelAndView = new ModelAndView();
         modelAndView.setViewName("home");
-        modelAndView.addObject("user", user);
         modelAndView.addObject("averageScore", averageScore);
-        modelAndView.addObject("quizzes", quizzes);
+        modelAndView.addObject("attempts", attempts);
 
         return modelAndView;
     }
@@ -109,26 +110,21 @@ public class UserController {
     }
 
     @GetMapping("/edit-profile")
-    public ModelAndView editProfilePage(@AuthenticationPrincipal UserData userData) {
-        User user = userService.getByUsername(userData.getUsername());
-        EditProfileRequest editProfileRequest = DtoMapperProfile.fromUserToEditProfileRequest(user);
+    public ModelAndView editProfilePage(@ModelAttribute(CurrentUserAdvice.CURRENT_USER) CurrentUserView currentUser) {
+        EditProfileRequest editProfileRequest = DtoMapperProfile.fromCurrentUserToEditProfileRequest(currentUser);
 
         ModelAndView modelAndView = new ModelAndView();
         modelAndView.setViewName("edit-profile");
-        modelAndView.addObject("user", user);
         modelAndView.addObject("editProfileRequest", editProfileRequest);
 
         return modelAndView;
     }
 
     @PutMapping("/edit-profile")
-    public ModelAndView editProfile(@Valid EditProfileRequest editProfileRequest, BindingResult bindingResult, @AuthenticationPrincipal UserData userData) {
-        User user = userService.getByUsername(userData.getUsername());
-
+    public ModelAndView editProfile(@Valid EditProfileRequest editProfileRequest, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
             ModelAndView modelAndView = new ModelAndView();
             modelAndView.setViewName("edit-profile");
-            modelAndView.addObject("user", user);
             modelAndView.addObject("editProfileRequest", editProfileRequest);
 
             return modelAndView;
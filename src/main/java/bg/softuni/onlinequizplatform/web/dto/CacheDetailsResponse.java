@@ -0,0 +1,21 @@
+package bg.softuni.onlinequizplatform.web.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheDetailsResponse {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long loadCount;
+    private Map<String, String> entries;
+}
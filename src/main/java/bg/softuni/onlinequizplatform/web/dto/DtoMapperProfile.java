@@ -1,11 +1,11 @@
 package bg.softuni.onlinequizplatform.web.dto;
 
-import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.model.CurrentUserView;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
 public class DtoMapperProfile {
-    public static EditProfileRequest fromUserToEditProfileRequest(User user) {
+    public static EditProfileRequest fromCurrentUserToEditProfileRequest(CurrentUserView user) {
         return EditProfileRequest.builder()
                 .username(user.getUsername())
                 .avatarUrl(user.getAvatarUrl())
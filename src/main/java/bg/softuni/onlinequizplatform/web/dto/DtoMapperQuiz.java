@@ -1,10 +1,8 @@
 package bg.softuni.onlinequizplatform.web.dto;
 
-import bg.softuni.onlinequizplatform.model.Question;
-import bg.softuni.onlinequizplatform.model.QuestionOption;
-import bg.softuni.onlinequizplatform.model.Quiz;
-import bg.softuni.onlinequizplatform.repository.QuestionOptionRepository;
-import bg.softuni.onlinequizplatform.repository.QuestionRepository;
+import bg.softuni.onlinequizplatform.model.CompiledOption;
+import bg.softuni.onlinequizplatform.model.CompiledQuestion;
+import bg.softuni.onlinequizplatform.model.CompiledQuiz;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -12,27 +10,17 @@ import java.util.List;
 
 @Component
 public class DtoMapperQuiz {
-    private final QuestionRepository questionRepository;
-    private final QuestionOptionRepository questionOptionRepository;
 
-    public DtoMapperQuiz(QuestionRepository questionRepository, QuestionOptionRepository questionOptionRepository) {
-        this.questionRepository = questionRepository;
-        this.questionOptionRepository = questionOptionRepository;
-    }
-
-    public NewQuizRequest fromQuizToNewQuizRequest(Quiz quiz) {
-        List<Question> questions = questionRepository.getByQuizId(quiz.getId());
-        List<QuestionRequest> questionRequests = new ArrayList<>();
+    public NewQuizRequest fromCompiledQuizToNewQuizRequest(CompiledQuiz quiz) {
+        List<QuestionRequest> questionRequests = new ArrayList<>(quiz.getQuestions().size());
 
-        for (Question question : questions) {
-            List<QuestionOption> options = questionOptionRepository.getByQuestionId(question.getId());
-            List<QuestionOptionRequest> optionRequests = new ArrayList<>();
-            for (QuestionOption option : options) {
+        for (CompiledQuestion question : quiz.getQuestions()) {
+            List<QuestionOptionRequest> optionRequests = new ArrayList<>(question.getOptions().size());
+            for (CompiledOption option : question.getOptions()) {
                 QuestionOptionRequest optionRequest = QuestionOptionRequest.builder()
                         .id(option.getId())
                         .text(option.getText())
                         .isSelected(false)
-                        .isCorrect(option.isCorrect())
                         .build();
 
                 optionRequests.add(optionRequest);
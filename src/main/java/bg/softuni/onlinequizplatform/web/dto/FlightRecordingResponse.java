@@ -0,0 +1,16 @@
+package bg.softuni.onlinequizplatform.web.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightRecordingResponse {
+    private boolean running;
+    private LocalDateTime startedOn;
+    private String file;
+}
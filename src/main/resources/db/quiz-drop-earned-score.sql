@@ -0,0 +1,7 @@
+-- Submissions are recorded in quiz_attempt, so quiz no longer maps earned_score.
+-- Run once on existing MySQL schemas: ddl-auto=update never drops columns, and the leftover
+-- NOT NULL column without a default makes every quiz insert fail under strict mode.
+-- quiz.user_id stays: it is still mapped as the quiz owner and has always been nullable.
+
+ALTER TABLE quiz
+    DROP COLUMN earned_score;
@@ -0,0 +1,92 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.exception.PasswordHashingUnavailableException;
+import bg.softuni.onlinequizplatform.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    // Holds every hash until the test releases it, so the pool can be filled deterministically.
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        return new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+    }
+
+    @Test
+    void encodeAndMatches_delegateToBCryptAndRecordLatency() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5), 5, meterRegistry);
+
+        String hash = encoder.encode("123456");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("123456", hash));
+        assertFalse(encoder.matches("000000", hash));
+        assertEquals(1, meterRegistry.get("password.hash.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hash.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void encode_whenPoolAndQueueAreFull_rejectsWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started), 1, 1, Duration.ofSeconds(30), 7, meterRegistry);
+
+        Future<String> running = callers.submit(() -> encoder.encode("first1"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> encoder.encode("second"));
+        while (encoder.getQueueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        PasswordHashingUnavailableException e = assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("third3"));
+        assertEquals(7, e.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hash.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertNotNull(running.get(5, TimeUnit.SECONDS));
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_whenWaitTimesOut_rejects() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started), 1, 1, Duration.ofMillis(50), 5, meterRegistry);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("123456"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+    }
+}
@@ -0,0 +1,72 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.config.CacheConfiguration;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.service.CacheInspectionService;
+import bg.softuni.onlinequizplatform.service.CompiledQuizService;
+import bg.softuni.onlinequizplatform.service.QuizCatalogService;
+import bg.softuni.onlinequizplatform.web.dto.CacheDetailsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+public class CacheConfigurationITest {
+    @Autowired
+    private QuizCatalogService quizCatalogService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInspectionService cacheInspectionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCache(CacheConfiguration.QUIZZES_BY_CATEGORY).clear();
+    }
+
+    @Test
+    void quizzesByCategory_isBoundedCaffeineCacheWithStatistics() {
+        quizCatalogService.getPage(Category.HISTORY, null);
+        quizCatalogService.getPage(Category.HISTORY, null);
+
+        CacheDetailsResponse details = cacheInspectionService.getCacheDetails().stream()
+                .filter(cache -> cache.getName().equals(CacheConfiguration.QUIZZES_BY_CATEGORY))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(1, details.getSize());
+        assertTrue(details.getEntries().containsKey("HISTORY"));
+        assertTrue(details.getHitCount() >= 1);
+    }
+
+    @Test
+    void cacheStatistics_areExportedAsMetricsForEveryConfiguredCache() {
+        List<String> cacheNames = List.of(CacheConfiguration.QUIZZES_BY_CATEGORY, CompiledQuizService.COMPILED_QUIZZES);
+
+        for (String cacheName : cacheNames) {
+            assertNotNull(meterRegistry.find("cache.gets").tag("cache", cacheName).tag("result", "hit").functionCounter(), cacheName);
+            assertNotNull(meterRegistry.find("cache.evictions").tag("cache", cacheName).functionCounter(), cacheName);
+        }
+    }
+}
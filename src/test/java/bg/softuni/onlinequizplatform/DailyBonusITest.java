@@ -0,0 +1,96 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.job.DailyBonusScheduler;
+import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.model.UserRole;
+import bg.softuni.onlinequizplatform.repository.UserRepository;
+import bg.softuni.onlinequizplatform.service.LeaderboardRankService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+@Transactional
+public class DailyBonusITest {
+    @Autowired
+    private DailyBonusScheduler dailyBonusScheduler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LeaderboardRankService leaderboardRankService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    private User createUser(String username, int score, UserRole role, LocalDateTime updatedOn) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .password("encoded_password")
+                .avatarUrl("avatar.png")
+                .role(role)
+                .score(score)
+                .level(score / 1000 + 1)
+                .active(true)
+                .createdOn(updatedOn)
+                .updatedOn(updatedOn)
+                .build());
+    }
+
+    private User reload(User user) {
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+
+    @Test
+    void giveDailyBonusToActiveUsers_updatesScoreLevelAndRoleInOneStatement() {
+        LocalDateTime recently = LocalDateTime.now().minusHours(6);
+        User player = createUser("bonus-player", 100, UserRole.PLAYER, recently);
+        User levelUp = createUser("bonus-level-up", 990, UserRole.PLAYER, recently);
+        User promoted = createUser("bonus-promoted", 9991, UserRole.PLAYER, recently);
+        User admin = createUser("bonus-admin", 9995, UserRole.ADMIN, recently);
+        User quizmaster = createUser("bonus-quizmaster", 9995, UserRole.QUIZMASTER, recently);
+        User inactive = createUser("bonus-inactive", 200, UserRole.PLAYER, LocalDateTime.now().minusDays(3));
+        entityManager.flush();
+        entityManager.clear();
+
+        dailyBonusScheduler.giveDailyBonusToActiveUsers();
+
+        assertEquals(110, reload(player).getScore());
+        assertEquals(1, reload(player).getLevel());
+        assertEquals(UserRole.PLAYER, reload(player).getRole());
+
+        assertEquals(1000, reload(levelUp).getScore());
+        assertEquals(2, reload(levelUp).getLevel());
+
+        assertEquals(10001, reload(promoted).getScore());
+        assertEquals(11, reload(promoted).getLevel());
+        assertEquals(UserRole.QUIZMASTER, reload(promoted).getRole());
+
+        assertEquals(10005, reload(admin).getScore());
+        assertEquals(UserRole.ADMIN, reload(admin).getRole());
+        assertEquals(UserRole.QUIZMASTER, reload(quizmaster).getRole());
+
+        assertEquals(200, reload(inactive).getScore());
+        assertTrue(reload(inactive).getUpdatedOn().isBefore(LocalDateTime.now().minusDays(2)));
+
+        int promotedRank = leaderboardRankService.getRank(promoted.getId());
+        assertTrue(leaderboardRankService.getRank(admin.getId()) < promotedRank);
+        assertTrue(promotedRank < leaderboardRankService.getRank(levelUp.getId()));
+    }
+}
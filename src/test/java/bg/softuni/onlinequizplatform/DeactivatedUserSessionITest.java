@@ -0,0 +1,86 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.repository.UserRepository;
+import bg.softuni.onlinequizplatform.service.UserService;
+import bg.softuni.onlinequizplatform.web.dto.EditUserRequest;
+import bg.softuni.onlinequizplatform.web.dto.RegisterRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+public class DeactivatedUserSessionITest {
+    private static final String USERNAME = "sessionplayer";
+    private static final String PASSWORD = "123456";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername(USERNAME).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void deactivatedUser_isLoggedOutOnTheirNextRequest() throws Exception {
+        userService.register(RegisterRequest.builder()
+                .username(USERNAME)
+                .password(PASSWORD)
+                .confirmPassword(PASSWORD)
+                .email("sessionplayer@quiz.bg")
+                .build());
+
+        MockHttpSession session = (MockHttpSession) mockMvc.perform(post("/login")
+                        .param("username", USERNAME)
+                        .param("password", PASSWORD)
+                        .with(csrf()))
+                .andExpect(redirectedUrl("/home"))
+                .andReturn().getRequest().getSession(false);
+
+        mockMvc.perform(get("/home").session(session))
+                .andExpect(status().isOk());
+
+        User user = userRepository.findByUsername(USERNAME).orElseThrow();
+        userService.updateUserProfile(USERNAME, EditUserRequest.builder()
+                .username(USERNAME)
+                .newPassword("")
+                .avatarUrl(user.getAvatarUrl())
+                .role(user.getRole())
+                .active(false)
+                .score(user.getScore())
+                .level(user.getLevel())
+                .email(user.getEmail())
+                .build());
+
+        mockMvc.perform(get("/home").session(session))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/login"));
+    }
+}
@@ -0,0 +1,97 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.Question;
+import bg.softuni.onlinequizplatform.model.QuestionOption;
+import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.repository.QuestionOptionRepository;
+import bg.softuni.onlinequizplatform.repository.QuestionRepository;
+import bg.softuni.onlinequizplatform.repository.QuizRepository;
+import bg.softuni.onlinequizplatform.service.QuizService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+@Transactional
+public class DeleteQuizITest {
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionOptionRepository questionOptionRepository;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    private Quiz createQuizWithQuestions(String name, int questionCount) {
+        Quiz quiz = quizRepository.save(Quiz.builder()
+                .name(name)
+                .category(Category.HISTORY)
+                .score(100)
+                .createdOn(LocalDateTime.now())
+                .updatedOn(LocalDateTime.now())
+                .build());
+
+        for (int i = 0; i < questionCount; i++) {
+            Question question = questionRepository.save(Question.builder()
+                    .name(name + " question " + i)
+                    .quiz(quiz)
+                    .build());
+
+            questionOptionRepository.save(QuestionOption.builder().text("A").isCorrect(true).question(question).build());
+            questionOptionRepository.save(QuestionOption.builder().text("B").isCorrect(false).question(question).build());
+        }
+
+        return quiz;
+    }
+
+    @Test
+    void deleteQuizById_removesQuizQuestionsAndOptions_andKeepsOtherQuizzes() {
+        Quiz deleted = createQuizWithQuestions("Delete Me", 3);
+        Quiz kept = createQuizWithQuestions("Keep Me", 2);
+
+        quizService.deleteQuizById(deleted.getId());
+
+        assertFalse(quizRepository.existsById(deleted.getId()));
+        assertTrue(questionRepository.getByQuizId(deleted.getId()).isEmpty());
+
+        assertTrue(quizRepository.existsById(kept.getId()));
+        List<Question> keptQuestions = questionRepository.getByQuizId(kept.getId());
+        assertEquals(2, keptQuestions.size());
+        assertEquals(2, questionOptionRepository.getByQuestionId(keptQuestions.get(0).getId()).size());
+    }
+
+    @Test
+    void deleteQuizzesByIds_removesAllSelectedQuizzesWithTheirQuestionsAndOptions() {
+        Quiz first = createQuizWithQuestions("Bulk One", 2);
+        Quiz second = createQuizWithQuestions("Bulk Two", 4);
+        long optionsBefore = questionOptionRepository.count();
+
+        quizService.deleteQuizzesByIds(List.of(first.getId(), second.getId()));
+
+        assertFalse(quizRepository.existsById(first.getId()));
+        assertFalse(quizRepository.existsById(second.getId()));
+        assertTrue(questionRepository.getByQuizId(first.getId()).isEmpty());
+        assertTrue(questionRepository.getByQuizId(second.getId()).isEmpty());
+        assertEquals(optionsBefore - 12, questionOptionRepository.count());
+    }
+}
@@ -0,0 +1,133 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.job.LeaderboardOutboxRelay;
+import bg.softuni.onlinequizplatform.model.LeaderboardOutboxEvent;
+import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.repository.LeaderboardOutboxEventRepository;
+import bg.softuni.onlinequizplatform.service.LeaderboardOutboxService;
+import bg.softuni.onlinequizplatform.service.LeaderboardScoreDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+public class LeaderboardOutboxITest {
+    private static final LeaderboardStubServer leaderboard = new LeaderboardStubServer();
+
+    @DynamicPropertySource
+    static void leaderboardProperties(DynamicPropertyRegistry registry) {
+        registry.add("leaderboard.url", leaderboard::getUrl);
+        registry.add("leaderboard.outbox.poll-interval-ms", () -> "3600000");
+        registry.add("leaderboard.dispatcher.flush-interval-ms", () -> "3600000");
+    }
+
+    @Autowired
+    private LeaderboardOutboxService leaderboardOutboxService;
+
+    @Autowired
+    private LeaderboardOutboxRelay leaderboardOutboxRelay;
+
+    @Autowired
+    private LeaderboardScoreDispatcher leaderboardScoreDispatcher;
+
+    @Autowired
+    private LeaderboardOutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAll();
+        leaderboard.reset();
+    }
+
+    @AfterAll
+    static void stopLeaderboard() {
+        leaderboard.stop();
+    }
+
+    private User createUser(int score) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .username("player-" + score)
+                .avatarUrl("avatar.png")
+                .score(score)
+                .build();
+    }
+
+    @Test
+    void relayScores_pushesLatestCommittedScorePerUserAndDrainsOutbox() {
+        User user = createUser(150);
+        transactionTemplate.executeWithoutResult(status -> leaderboardOutboxService.enqueueScore(user));
+        user.setScore(250);
+        transactionTemplate.executeWithoutResult(status -> leaderboardOutboxService.enqueueScore(user));
+
+        assertEquals(2, outboxEventRepository.count());
+
+        leaderboardOutboxRelay.relayScores();
+        int sent = leaderboardScoreDispatcher.flush();
+
+        assertEquals(1, sent);
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(1, leaderboard.getReceivedScores().size());
+        assertTrue(leaderboard.getReceivedScores().get(0).contains("\"score\":250"));
+    }
+
+    @Test
+    void relayScores_whenLeaderboardFails_keepsEventAndBacksOff() {
+        User user = createUser(300);
+        transactionTemplate.executeWithoutResult(status -> leaderboardOutboxService.enqueueScore(user));
+        leaderboard.respondWith(503);
+
+        leaderboardOutboxRelay.relayScores();
+        int sent = leaderboardScoreDispatcher.flush();
+
+        assertEquals(0, sent);
+        List<LeaderboardOutboxEvent> pending = outboxEventRepository.findAll();
+        assertEquals(1, pending.size());
+        assertEquals(1, pending.get(0).getAttempts());
+        assertNotNull(pending.get(0).getLastError());
+        assertTrue(pending.get(0).getNextAttemptOn().isAfter(LocalDateTime.now()));
+
+        leaderboard.respondWith(200);
+        leaderboardOutboxRelay.relayScores();
+        assertEquals(0, leaderboardScoreDispatcher.flush());
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    @Test
+    void outboxLagGauge_reportsAgeOfOldestPendingEvent() {
+        outboxEventRepository.save(LeaderboardOutboxEvent.builder()
+                .userId(UUID.randomUUID())
+                .username("lagging")
+                .score(10)
+                .createdOn(LocalDateTime.now().minusMinutes(2))
+                .nextAttemptOn(LocalDateTime.now().plusMinutes(5))
+                .build());
+
+        double lag = meterRegistry.get("leaderboard.outbox.lag").gauge().value();
+
+        assertTrue(lag >= 120, "lag was " + lag);
+        assertEquals(1.0, meterRegistry.get("leaderboard.outbox.pending").gauge().value());
+    }
+}
@@ -0,0 +1,62 @@
+package bg.softuni.onlinequizplatform;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class LeaderboardStubServer {
+    private final HttpServer server;
+    private final List<String> receivedScores = new CopyOnWriteArrayList<>();
+    private volatile int responseStatus = 200;
+
+    public LeaderboardStubServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        server.createContext("/api/scores/v1", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                if ("PUT".equals(exchange.getRequestMethod())) {
+                    receivedScores.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+
+            byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public List<String> getReceivedScores() {
+        return receivedScores;
+    }
+
+    public void respondWith(int status) {
+        this.responseStatus = status;
+    }
+
+    public void reset() {
+        receivedScores.clear();
+        responseStatus = 200;
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+}
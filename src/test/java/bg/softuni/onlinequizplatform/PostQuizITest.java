@@ -2,27 +2,35 @@ package bg.softuni.onlinequizplatform;
 
 import bg.softuni.onlinequizplatform.client.LeaderboardClient;
 import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.LeaderboardOutboxEvent;
+import bg.softuni.onlinequizplatform.model.Question;
+import bg.softuni.onlinequizplatform.model.QuestionOption;
 import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.model.QuizAttempt;
 import bg.softuni.onlinequizplatform.model.User;
 import bg.softuni.onlinequizplatform.model.UserRole;
+import bg.softuni.onlinequizplatform.repository.LeaderboardOutboxEventRepository;
+import bg.softuni.onlinequizplatform.repository.QuestionOptionRepository;
+import bg.softuni.onlinequizplatform.repository.QuestionRepository;
+import bg.softuni.onlinequizplatform.repository.QuizAttemptRepository;
 import bg.softuni.onlinequizplatform.repository.QuizRepository;
+import bg.softuni.onlinequizplatform.repository.UserRepository;
 import bg.softuni.onlinequizplatform.service.QuizService;
-import bg.softuni.onlinequizplatform.web.dto.CreateScoreRequest;
+import bg.softuni.onlinequizplatform.service.UserService;
 import bg.softuni.onlinequizplatform.web.dto.NewQuizRequest;
 import bg.softuni.onlinequizplatform.web.dto.QuestionOptionRequest;
 import bg.softuni.onlinequizplatform.web.dto.QuestionRequest;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,14 +43,32 @@ public class PostQuizITest {
     @Autowired
     private QuizService quizService;
 
+    @Autowired
+    private UserService userService;
+
     @Autowired
     private QuizRepository quizRepository;
 
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionOptionRepository questionOptionRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LeaderboardOutboxEventRepository outboxEventRepository;
+
     @MockitoBean
     private LeaderboardClient leaderboardClient;
 
     @Test
-    void submitQuiz_updatesScore_savesQuizAndCallsLeaderboard() {
+    void submitQuiz_updatesScore_savesQuizAndEnqueuesLeaderboardPush() {
 
         Quiz quiz = Quiz.builder()
                 .name("Java Basics")
@@ -54,6 +80,21 @@ public class PostQuizITest {
 
         quiz = quizRepository.save(quiz);
 
+        Question question = questionRepository.save(Question.builder()
+                .name("Java Basics")
+                .quiz(quiz)
+                .build());
+        QuestionOption correctOption = questionOptionRepository.save(QuestionOption.builder()
+                .text("A")
+                .isCorrect(true)
+                .question(question)
+                .build());
+        QuestionOption wrongOption = questionOptionRepository.save(QuestionOption.builder()
+                .text("B")
+                .isCorrect(false)
+                .question(question)
+                .build());
+
         User user = User.builder()
                 .username("tester")
                 .password("pass")
@@ -67,12 +108,13 @@ public class PostQuizITest {
                 .updatedOn(LocalDateTime.now())
                 .build();
 
-        user.setId(UUID.randomUUID());
+        user = userRepository.saveAndFlush(user);
 
-        QuestionOptionRequest opt1 = new QuestionOptionRequest(UUID.randomUUID(), "A", true, true);
-        QuestionOptionRequest opt2 = new QuestionOptionRequest(UUID.randomUUID(),"B", false, false);
+        QuestionOptionRequest opt1 = new QuestionOptionRequest(correctOption.getId(), "A", true, null);
+        QuestionOptionRequest opt2 = new QuestionOptionRequest(wrongOption.getId(),"B", false, null);
 
         QuestionRequest q1 = QuestionRequest.builder()
+                .id(question.getId())
                 .name("Java Basics")
                 .options(List.of(opt1, opt2))
                 .build();
@@ -84,26 +126,39 @@ public class PostQuizITest {
         request.setScore(100);
         request.setQuestions(List.of(q1));
 
-        when(leaderboardClient.upsertScore(any(CreateScoreRequest.class), eq(user.getId())))
-                .thenReturn(null);
-
-        quizService.submitQuiz(request, user);
-
-        Quiz updated = quizRepository.findById(quiz.getId()).orElseThrow();
-
-        assertEquals(100, updated.getEarnedScore(), "Earned score must be calculated correctly");
-        assertEquals(user.getId(), updated.getUser().getId(), "User must be assigned to quiz");
-
-        ArgumentCaptor<CreateScoreRequest> requestCaptor =
-                ArgumentCaptor.forClass(CreateScoreRequest.class);
-
-        verify(leaderboardClient, times(1))
-                .upsertScore(requestCaptor.capture(), eq(user.getId()));
-
-        CreateScoreRequest sentRequest = requestCaptor.getValue();
-
-        assertEquals(user.getId(), sentRequest.getUserId());
-        assertEquals(user.getScore(), sentRequest.getScore());
-        assertEquals(user.getUsername(), sentRequest.getUsername());
+        StatementCounter.reset();
+        QuizAttempt submitted = quizService.submitQuiz(request, user);
+        userService.recordQuizResult(user, submitted.getEarnedScore(), submitted.getScore());
+        // A fixed handful of statements, never one per question or option, and a single write to the users row.
+        StatementCounter.assertAtMost(6);
+        StatementCounter.assertNoRepeatedStatementsOver(1);
+
+        List<QuizAttempt> attempts = quizAttemptRepository.findByUserIdOrderBySubmittedOnDesc(user.getId(), PageRequest.of(0, 10)).getContent();
+        assertEquals(1, attempts.size());
+
+        QuizAttempt attempt = attempts.get(0);
+        assertEquals(quiz.getId(), attempt.getQuizId());
+        assertEquals("Java Basics", attempt.getQuizName());
+        assertEquals(100, attempt.getScore());
+        assertEquals(100, attempt.getEarnedScore(), "Earned score must be calculated correctly");
+        assertEquals(correctOption.getId().toString(), attempt.getAnswers());
+        assertNull(quizRepository.findById(quiz.getId()).orElseThrow().getUser(), "Submitting must not write to the shared quiz row");
+
+        User stats = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(300, stats.getScore());
+        assertEquals(1, stats.getQuizzesTaken());
+        assertEquals(100, stats.getEarnedPoints());
+        assertEquals(100, stats.getPossiblePoints());
+        assertEquals(100, stats.getBestResultPercent());
+
+        verifyNoInteractions(leaderboardClient);
+
+        List<LeaderboardOutboxEvent> pending = outboxEventRepository.findAll();
+        assertEquals(1, pending.size());
+
+        LeaderboardOutboxEvent event = pending.get(0);
+        assertEquals(user.getId(), event.getUserId());
+        assertEquals(user.getScore(), event.getScore());
+        assertEquals(user.getUsername(), event.getUsername());
     }
 }
@@ -0,0 +1,67 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.exception.UserNotFoundException;
+import bg.softuni.onlinequizplatform.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,metrics,prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+public class PrometheusEndpointITest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    @Test
+    void prometheus_withoutAuthentication_isChallengedForBasicAuth() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "PLAYER")
+    void prometheus_asPlayer_isForbidden() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void health_isOpenForProbes() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void prometheus_asAdmin_exposesServiceHistogramsAndCacheStats() throws Exception {
+        assertThrows(UserNotFoundException.class, () -> userService.loadUserByUsername("no-such-user"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("user_details_load_seconds_bucket")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"userDetails\"")));
+    }
+}
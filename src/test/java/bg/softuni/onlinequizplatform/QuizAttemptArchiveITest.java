@@ -0,0 +1,86 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.job.QuizAttemptArchiveJob;
+import bg.softuni.onlinequizplatform.model.ArchivedQuizAttempt;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.QuizAttempt;
+import bg.softuni.onlinequizplatform.repository.ArchivedQuizAttemptRepository;
+import bg.softuni.onlinequizplatform.repository.QuizAttemptRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"quiz.attempts.retention-days=30", "quiz.attempts.archive-batch-size=2"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+public class QuizAttemptArchiveITest {
+    @Autowired
+    private QuizAttemptArchiveJob quizAttemptArchiveJob;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private ArchivedQuizAttemptRepository archivedQuizAttemptRepository;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    private final List<UUID> attemptIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteAttempts() {
+        quizAttemptRepository.deleteAllById(attemptIds);
+        archivedQuizAttemptRepository.deleteAllById(attemptIds);
+    }
+
+    private QuizAttempt saveAttempt(UUID userId, LocalDateTime submittedOn) {
+        QuizAttempt attempt = quizAttemptRepository.save(QuizAttempt.builder()
+                .quizId(UUID.randomUUID())
+                .userId(userId)
+                .quizName("Capitals")
+                .category(Category.GEOGRAPHY)
+                .score(100)
+                .earnedScore(75)
+                .answers("")
+                .submittedOn(submittedOn)
+                .build());
+        attemptIds.add(attempt.getId());
+        return attempt;
+    }
+
+    @Test
+    void archiveOldAttempts_movesAttemptsPastRetentionInBatches() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        List<QuizAttempt> old = List.of(
+                saveAttempt(userId, now.minusDays(90)),
+                saveAttempt(userId, now.minusDays(60)),
+                saveAttempt(userId, now.minusDays(45)));
+        QuizAttempt recent = saveAttempt(userId, now.minusDays(1));
+
+        quizAttemptArchiveJob.archiveOldAttempts();
+
+        for (QuizAttempt attempt : old) {
+            assertFalse(quizAttemptRepository.existsById(attempt.getId()));
+            ArchivedQuizAttempt archived = archivedQuizAttemptRepository.findById(attempt.getId()).orElseThrow();
+            assertEquals(userId, archived.getUserId());
+            assertEquals(75, archived.getEarnedScore());
+            assertNotNull(archived.getArchivedOn());
+        }
+        assertTrue(quizAttemptRepository.existsById(recent.getId()));
+        assertFalse(archivedQuizAttemptRepository.existsById(recent.getId()));
+    }
+}
@@ -0,0 +1,80 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.model.QuizPage;
+import bg.softuni.onlinequizplatform.model.QuizSummary;
+import bg.softuni.onlinequizplatform.repository.QuizRepository;
+import bg.softuni.onlinequizplatform.service.QuizCatalogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "quiz.catalog.page-size=2")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+@Transactional
+public class QuizCatalogPaginationITest {
+    @Autowired
+    private QuizCatalogService quizCatalogService;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    private void createQuiz(String name, LocalDateTime createdOn) {
+        quizRepository.save(Quiz.builder()
+                .name(name)
+                .category(Category.HISTORY)
+                .score(100)
+                .createdOn(createdOn)
+                .updatedOn(createdOn)
+                .build());
+    }
+
+    @Test
+    void getPage_walksWholeCategoryWithoutGapsOrDuplicates_evenWhenCreatedOnTies() {
+        LocalDateTime sameInstant = LocalDateTime.of(2030, 1, 1, 12, 0);
+        for (int i = 0; i < 5; i++) {
+            createQuiz("Paged History " + i, sameInstant);
+        }
+        createQuiz("Paged History Latest", sameInstant.plusMinutes(1));
+        quizCatalogService.evict(List.of(Category.HISTORY));
+
+        List<UUID> expected = quizRepository.findAll().stream()
+                .filter(quiz -> quiz.getCategory() == Category.HISTORY)
+                .map(Quiz::getId)
+                .toList();
+
+        List<QuizSummary> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            QuizPage page = quizCatalogService.getPage(Category.HISTORY, cursor);
+            assertTrue(page.getQuizzes().size() <= 2);
+            walked.addAll(page.getQuizzes());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 100);
+
+        List<UUID> walkedIds = walked.stream().map(QuizSummary::getId).toList();
+        assertEquals(expected.size(), walkedIds.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(walkedIds));
+        assertEquals("Paged History Latest", walked.get(walked.size() - 1).getName());
+    }
+}
@@ -0,0 +1,97 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.config.CacheConfiguration;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.QuizSummary;
+import bg.softuni.onlinequizplatform.repository.QuizRepository;
+import bg.softuni.onlinequizplatform.service.QuizCatalogService;
+import bg.softuni.onlinequizplatform.service.QuizService;
+import bg.softuni.onlinequizplatform.web.dto.NewQuizRequest;
+import bg.softuni.onlinequizplatform.web.dto.QuestionOptionRequest;
+import bg.softuni.onlinequizplatform.web.dto.QuestionRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+public class QuizCategoryCacheITest {
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizCatalogService quizCatalogService;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    @BeforeEach
+    void warmUpCaches() {
+        cacheManager.getCache(CacheConfiguration.QUIZZES_BY_CATEGORY).clear();
+        for (Category category : Category.values()) {
+            quizCatalogService.getPage(category, null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache() {
+        return (Cache<Object, Object>) cacheManager.getCache(CacheConfiguration.QUIZZES_BY_CATEGORY).getNativeCache();
+    }
+
+    private NewQuizRequest musicQuiz(String name) {
+        return NewQuizRequest.builder()
+                .name(name)
+                .category(Category.MUSIC)
+                .score(100)
+                .questions(List.of(QuestionRequest.builder()
+                        .name("Who composed the Four Seasons?")
+                        .options(List.of(QuestionOptionRequest.builder().text("Vivaldi").isCorrect(true).build()))
+                        .build()))
+                .build();
+    }
+
+    @Test
+    void createAndDeleteQuiz_evictOnlyTheAffectedCategory() {
+        String name = "Cache Scope " + UUID.randomUUID();
+        Object cachedGeography = nativeCache().getIfPresent(Category.GEOGRAPHY);
+
+        quizService.createNewQuiz(musicQuiz(name));
+
+        assertNull(nativeCache().getIfPresent(Category.MUSIC));
+        assertSame(cachedGeography, nativeCache().getIfPresent(Category.GEOGRAPHY));
+        assertNotNull(nativeCache().getIfPresent(Category.HISTORY));
+
+        QuizSummary created = quizCatalogService.getPage(Category.MUSIC, null).getQuizzes().stream()
+                .filter(quiz -> quiz.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+
+        quizService.deleteQuizById(created.getId());
+
+        assertNull(nativeCache().getIfPresent(Category.MUSIC));
+        assertSame(cachedGeography, nativeCache().getIfPresent(Category.GEOGRAPHY));
+        assertNotNull(nativeCache().getIfPresent(Category.HISTORY));
+        assertFalse(quizRepository.existsById(created.getId()));
+        assertTrue(quizCatalogService.getPage(Category.MUSIC, null).getQuizzes().stream()
+                .noneMatch(quiz -> quiz.getId().equals(created.getId())));
+    }
+}
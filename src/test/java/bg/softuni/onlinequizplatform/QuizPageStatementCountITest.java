@@ -0,0 +1,112 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.Question;
+import bg.softuni.onlinequizplatform.model.QuestionOption;
+import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.repository.QuestionOptionRepository;
+import bg.softuni.onlinequizplatform.repository.QuestionRepository;
+import bg.softuni.onlinequizplatform.repository.QuizRepository;
+import bg.softuni.onlinequizplatform.web.dto.NewQuizRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+@Transactional
+public class QuizPageStatementCountITest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionOptionRepository questionOptionRepository;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    private UUID createQuiz(String name, int questionCount) {
+        Quiz quiz = quizRepository.save(Quiz.builder()
+                .name(name)
+                .category(Category.MUSIC)
+                .score(100)
+                .createdOn(LocalDateTime.now())
+                .updatedOn(LocalDateTime.now())
+                .build());
+
+        for (int i = 0; i < questionCount; i++) {
+            Question question = questionRepository.save(Question.builder()
+                    .name(name + " question " + i)
+                    .quiz(quiz)
+                    .build());
+
+            for (int j = 0; j < 4; j++) {
+                questionOptionRepository.save(QuestionOption.builder()
+                        .text("Option " + j)
+                        .isCorrect(j == 0)
+                        .question(question)
+                        .build());
+            }
+        }
+
+        return quiz.getId();
+    }
+
+    private int countStatementsForQuizPage(UUID quizId, int expectedQuestions) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        StatementCounter.reset();
+
+        MvcResult result = mockMvc.perform(get("/quiz/{id}", quizId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        NewQuizRequest quiz = (NewQuizRequest) result.getModelAndView().getModel().get("quiz");
+        assertEquals(expectedQuestions, quiz.getQuestions().size());
+        quiz.getQuestions().forEach(question -> assertEquals(4, question.getOptions().size()));
+
+        return StatementCounter.count();
+    }
+
+    @Test
+    @WithMockUser
+    void getQuizPage_statementCountDoesNotGrowWithQuizSize() throws Exception {
+        UUID smallQuizId = createQuiz("Small Quiz", 1);
+        UUID largeQuizId = createQuiz("Large Quiz", 50);
+
+        int smallQuizStatements = countStatementsForQuizPage(smallQuizId, 1);
+        int largeQuizStatements = countStatementsForQuizPage(largeQuizId, 50);
+
+        assertEquals(smallQuizStatements, largeQuizStatements);
+        StatementCounter.assertAtMost(2);
+        StatementCounter.assertNoRepeatedStatementsOver(1);
+    }
+}
@@ -0,0 +1,141 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.model.UserRole;
+import bg.softuni.onlinequizplatform.repository.UserRepository;
+import bg.softuni.onlinequizplatform.service.LeaderboardRankService;
+import bg.softuni.onlinequizplatform.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+public class ScoreIncrementConcurrencyITest {
+    private static final int THREADS = 8;
+    private static final int SUBMISSIONS = 2000;
+    private static final int POINTS_PER_SUBMISSION = 4;
+    private static final int BONUS_RUNS = 20;
+    private static final int BONUS = 1;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LeaderboardRankService leaderboardRankService;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    private User user;
+
+    @AfterEach
+    void deleteUser() {
+        if (user != null) {
+            userRepository.deleteById(user.getId());
+            leaderboardRankService.remove(user.getId());
+        }
+    }
+
+    @Test
+    void parallelSubmissionsAndDailyBonus_loseNoIncrements() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        user = userRepository.save(User.builder()
+                .username("concurrent-scorer")
+                .password("encoded_password")
+                .avatarUrl("avatar.png")
+                .role(UserRole.PLAYER)
+                .score(0)
+                .level(1)
+                .active(true)
+                .createdOn(now)
+                .updatedOn(now)
+                .build());
+        LocalDateTime bonusSince = now.minusSeconds(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < SUBMISSIONS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    // Every caller works on its own stale copy, as concurrent requests would.
+                    userService.setNewScore(userService.getById(user.getId()), POINTS_PER_SUBMISSION);
+                    return null;
+                }));
+            }
+            for (int i = 0; i < BONUS_RUNS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    userService.addBonusToUsersActiveSince(BONUS, bonusSince);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int expectedScore = SUBMISSIONS * POINTS_PER_SUBMISSION + BONUS_RUNS * BONUS;
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+
+        assertEquals(expectedScore, reloaded.getScore());
+        assertEquals(expectedScore / 1000 + 1, reloaded.getLevel());
+        assertEquals(UserRole.PLAYER, reloaded.getRole());
+    }
+
+    @Test
+    void crossingPromotionScoreConcurrently_promotesWithConsistentLevel() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        user = userRepository.save(User.builder()
+                .username("concurrent-promotion")
+                .password("encoded_password")
+                .avatarUrl("avatar.png")
+                .role(UserRole.PLAYER)
+                .score(9900)
+                .level(10)
+                .active(true)
+                .createdOn(now)
+                .updatedOn(now)
+                .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> userService.setNewScore(userService.getById(user.getId()), 1)));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(10100, reloaded.getScore());
+        assertEquals(11, reloaded.getLevel());
+        assertEquals(UserRole.QUIZMASTER, reloaded.getRole());
+    }
+}
@@ -0,0 +1,37 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.monitoring.StatementScope;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC statements the current thread executes from the last {@link #reset()}, including those
+ * issued while MockMvc dispatches a request.
+ */
+public class StatementCounter {
+    private static final ThreadLocal<StatementScope> SCOPE = new ThreadLocal<>();
+
+    public static void reset() {
+        StatementScope previous = SCOPE.get();
+        if (previous != null) {
+            previous.close();
+        }
+        SCOPE.set(StatementScope.open());
+    }
+
+    public static int count() {
+        StatementScope scope = SCOPE.get();
+        return scope == null ? 0 : scope.getCount();
+    }
+
+    public static void assertAtMost(int budget) {
+        int count = count();
+        assertTrue(count <= budget, "Expected at most " + budget + " statements but was " + count);
+    }
+
+    public static void assertNoRepeatedStatementsOver(int threshold) {
+        StatementScope scope = SCOPE.get();
+        assertTrue(scope == null || scope.getRepeatedShapes(threshold).isEmpty(),
+                () -> "Statements repeated more than " + threshold + " times: " + scope.getRepeatedShapes(threshold));
+    }
+}
@@ -0,0 +1,69 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.repository.QuizRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+public class StatementInstrumentationITest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @MockitoBean
+    private LeaderboardClient leaderboardClient;
+
+    @Test
+    @WithMockUser
+    void quizPage_recordsStatementsPerEndpointAndRepositoryMethod() throws Exception {
+        Quiz quiz = quizRepository.save(Quiz.builder()
+                .name("Instrumented Quiz " + UUID.randomUUID())
+                .category(Category.HISTORY)
+                .score(100)
+                .createdOn(LocalDateTime.now())
+                .updatedOn(LocalDateTime.now())
+                .build());
+
+        try {
+            mockMvc.perform(get("/quiz/{id}", quiz.getId()))
+                    .andExpect(status().isOk());
+
+            DistributionSummary perRequest = meterRegistry.get("http.server.statements")
+                    .tag("method", "GET")
+                    .tag("uri", "/quiz/{id}")
+                    .summary();
+            assertTrue(perRequest.count() >= 1);
+            assertTrue(perRequest.max() >= 1);
+            assertTrue(meterRegistry.get("db.statements").tag("repository", "QuizRepository.findById").timer().count() >= 1);
+        } finally {
+            quizRepository.deleteById(quiz.getId());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package bg.softuni.onlinequizplatform;
+
+import bg.softuni.onlinequizplatform.monitoring.StatementMetricsListener;
+import bg.softuni.onlinequizplatform.monitoring.StatementScope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementScopeTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementMetricsListener listener = new StatementMetricsListener(meterRegistry);
+
+    private void execute(String sql) {
+        listener.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(sql)));
+    }
+
+    @Test
+    void repeatedShapes_groupStatementsThatDifferOnlyInLiterals() {
+        try (StatementScope scope = StatementScope.open()) {
+            for (int i = 0; i < 12; i++) {
+                execute("select * from question_option where question_id = " + i);
+            }
+            execute("select * from quiz where name = 'Capitals'");
+            execute("select  *  from quiz where name = 'Rivers'");
+
+            assertEquals(14, scope.getCount());
+            assertEquals(Map.of("select * from question_option where question_id = ?", 12), scope.getRepeatedShapes(10));
+            assertEquals(2, scope.getRepeatedShapes(1).size());
+        }
+    }
+
+    @Test
+    void nestedScopes_bothSeeInnerStatementsAndCloseInOrder() {
+        try (StatementScope outer = StatementScope.open()) {
+            execute("select 1");
+            try (StatementScope inner = StatementScope.open()) {
+                execute("select 2");
+                assertEquals(1, inner.getCount());
+            }
+            execute("select 3");
+
+            assertEquals(3, outer.getCount());
+        }
+
+        assertEquals(3, meterRegistry.get("db.statements").tag("repository", "none").timer().count());
+    }
+
+    @Test
+    void statementsOutsideAnyScope_areOnlyTimed() {
+        execute("select 1");
+
+        try (StatementScope scope = StatementScope.open()) {
+            assertEquals(0, scope.getCount());
+        }
+        assertEquals(1, meterRegistry.get("db.statements").timer().count());
+    }
+}
@@ -0,0 +1,138 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.CompiledQuiz;
+import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.repository.QuestionRepository;
+import bg.softuni.onlinequizplatform.repository.QuizGraphRow;
+import bg.softuni.onlinequizplatform.repository.QuizRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CompiledQuizServiceUTest {
+
+    private QuizRepository quizRepository;
+    private QuestionRepository questionRepository;
+    private CompiledQuizService compiledQuizService;
+
+    @BeforeEach
+    void setUp() {
+        quizRepository = mock(QuizRepository.class);
+        questionRepository = mock(QuestionRepository.class);
+        compiledQuizService = new CompiledQuizService(quizRepository, questionRepository, new CaffeineCacheManager(), 1000, 64 * 1024 * 1024);
+    }
+
+    private Quiz createQuiz(UUID id) {
+        return Quiz.builder()
+                .id(id)
+                .name("Capitals")
+                .category(Category.GEOGRAPHY)
+                .score(100)
+                .createdOn(LocalDateTime.now())
+                .updatedOn(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .build();
+    }
+
+    private QuizGraphRow row(UUID questionId, String questionName, UUID optionId, String optionText, Boolean correct) {
+        QuizGraphRow row = mock(QuizGraphRow.class);
+        when(row.getQuestionId()).thenReturn(questionId);
+        when(row.getQuestionName()).thenReturn(questionName);
+        when(row.getOptionId()).thenReturn(optionId);
+        when(row.getOptionText()).thenReturn(optionText);
+        when(row.getOptionCorrect()).thenReturn(correct);
+        return row;
+    }
+
+    @Test
+    void getCompiledQuiz_buildsImmutableSnapshotFromQuizGraph() {
+        UUID quizId = UUID.randomUUID();
+        UUID question1 = UUID.randomUUID();
+        UUID question2 = UUID.randomUUID();
+        UUID correctOption = UUID.randomUUID();
+        UUID wrongOption = UUID.randomUUID();
+
+        List<QuizGraphRow> rows = List.of(
+                row(question1, "Capital of France?", correctOption, "Paris", true),
+                row(question1, "Capital of France?", wrongOption, "Lyon", false),
+                row(question2, "Empty question", null, null, null)
+        );
+
+        when(quizRepository.findById(quizId)).thenReturn(Optional.of(createQuiz(quizId)));
+        when(questionRepository.findQuizGraphByQuizId(quizId)).thenReturn(rows);
+
+        CompiledQuiz compiledQuiz = compiledQuizService.getCompiledQuiz(quizId).orElseThrow();
+
+        assertEquals("Capitals", compiledQuiz.getName());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0), compiledQuiz.getVersion());
+        assertEquals(2, compiledQuiz.getQuestions().size());
+        assertEquals(2, compiledQuiz.getQuestions().get(0).getOptions().size());
+        assertTrue(compiledQuiz.getQuestions().get(1).getOptions().isEmpty());
+        assertEquals(2, compiledQuiz.getAnswerKey().getQuestionCount());
+        assertEquals(50, compiledQuiz.getAnswerKey().getPointsPerQuestion());
+        assertTrue(compiledQuiz.getAnswerKey().isCorrect(0, correctOption));
+        assertFalse(compiledQuiz.getAnswerKey().isCorrect(0, wrongOption));
+        assertFalse(compiledQuiz.getAnswerKey().isCorrect(1, correctOption));
+        assertFalse(compiledQuiz.getAnswerKey().isCorrect(0, UUID.randomUUID()));
+        assertThrows(UnsupportedOperationException.class, () -> compiledQuiz.getQuestions().clear());
+    }
+
+    @Test
+    void getCompiledQuiz_servesRepeatedReadsFromCache() {
+        UUID quizId = UUID.randomUUID();
+        when(quizRepository.findById(quizId)).thenReturn(Optional.of(createQuiz(quizId)));
+        when(questionRepository.findQuizGraphByQuizId(quizId)).thenReturn(List.of());
+
+        CompiledQuiz first = compiledQuizService.getCompiledQuiz(quizId).orElseThrow();
+        CompiledQuiz second = compiledQuizService.getCompiledQuiz(quizId).orElseThrow();
+
+        assertSame(first, second);
+        verify(quizRepository, times(1)).findById(quizId);
+        verify(questionRepository, times(1)).findQuizGraphByQuizId(quizId);
+    }
+
+    @Test
+    void getCompiledQuiz_whenQuizMissing_returnsEmptyAndDoesNotCacheMiss() {
+        UUID quizId = UUID.randomUUID();
+        when(quizRepository.findById(quizId)).thenReturn(Optional.empty());
+
+        assertTrue(compiledQuizService.getCompiledQuiz(quizId).isEmpty());
+        assertTrue(compiledQuizService.getCompiledQuiz(quizId).isEmpty());
+
+        verify(quizRepository, times(2)).findById(quizId);
+        verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void invalidate_forcesRecompilation() {
+        UUID quizId = UUID.randomUUID();
+        when(quizRepository.findById(quizId)).thenReturn(Optional.of(createQuiz(quizId)));
+        when(questionRepository.findQuizGraphByQuizId(quizId)).thenReturn(List.of());
+
+        compiledQuizService.getCompiledQuiz(quizId);
+        compiledQuizService.invalidate(List.of(quizId));
+        compiledQuizService.getCompiledQuiz(quizId);
+
+        verify(quizRepository, times(2)).findById(quizId);
+    }
+
+    @Test
+    void getCompiledQuiz_whenEntryLimitReached_keepsCacheBounded() {
+        compiledQuizService = new CompiledQuizService(quizRepository, questionRepository, new CaffeineCacheManager(), 2, 64 * 1024 * 1024);
+        when(quizRepository.findById(any())).thenAnswer(invocation -> Optional.of(createQuiz(invocation.getArgument(0))));
+        when(questionRepository.findQuizGraphByQuizId(any())).thenReturn(List.of());
+
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        ids.forEach(compiledQuizService::getCompiledQuiz);
+
+        assertTrue(compiledQuizService.size() <= 2);
+    }
+}
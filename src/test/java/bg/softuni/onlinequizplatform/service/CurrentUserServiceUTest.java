@@ -0,0 +1,80 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.exception.UserNotFoundException;
+import bg.softuni.onlinequizplatform.model.CurrentUserView;
+import bg.softuni.onlinequizplatform.model.UserRole;
+import bg.softuni.onlinequizplatform.repository.CurrentUserRow;
+import bg.softuni.onlinequizplatform.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CurrentUserServiceUTest {
+
+    private UserRepository userRepository;
+    private CurrentUserService currentUserService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        currentUserService = new CurrentUserService(userRepository, new CaffeineCacheManager(), "maximumSize=100,expireAfterWrite=30s");
+    }
+
+    private CurrentUserRow row(UUID id, int score) {
+        CurrentUserRow row = mock(CurrentUserRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getUsername()).thenReturn("player");
+        when(row.getAvatarUrl()).thenReturn("avatar.png");
+        when(row.getRole()).thenReturn(UserRole.PLAYER);
+        when(row.getScore()).thenReturn(score);
+        when(row.getQuizzesTaken()).thenReturn(3);
+        return row;
+    }
+
+    @Test
+    void get_mapsProjectionAndServesRepeatedReadsFromCache() {
+        UUID id = UUID.randomUUID();
+        CurrentUserRow row = row(id, 420);
+        when(userRepository.findCurrentUserById(id)).thenReturn(Optional.of(row));
+
+        CurrentUserView first = currentUserService.get(id);
+        CurrentUserView second = currentUserService.get(id);
+
+        assertSame(first, second);
+        assertEquals("player", first.getUsername());
+        assertEquals(420, first.getScore());
+        assertEquals(3, first.getQuizzesTaken());
+        verify(userRepository, times(1)).findCurrentUserById(id);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void get_whenUserMissing_throwsAndDoesNotCacheMiss() {
+        UUID id = UUID.randomUUID();
+        when(userRepository.findCurrentUserById(id)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> currentUserService.get(id));
+        assertThrows(UserNotFoundException.class, () -> currentUserService.get(id));
+
+        verify(userRepository, times(2)).findCurrentUserById(id);
+    }
+
+    @Test
+    void evict_reloadsOnNextRead() {
+        UUID id = UUID.randomUUID();
+        CurrentUserRow before = row(id, 100);
+        CurrentUserRow after = row(id, 150);
+        when(userRepository.findCurrentUserById(id)).thenReturn(Optional.of(before), Optional.of(after));
+
+        currentUserService.get(id);
+        currentUserService.evict(id);
+
+        assertEquals(150, currentUserService.get(id).getScore());
+    }
+}
@@ -0,0 +1,83 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.monitoring.QuizGradingEvent;
+import bg.softuni.onlinequizplatform.web.dto.FlightRecordingResponse;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecordingServiceUTest {
+
+    @TempDir
+    private Path directory;
+
+    private FlightRecordingService flightRecordingService;
+
+    @BeforeEach
+    void setUp() {
+        flightRecordingService = new FlightRecordingService(directory.toString(), 10, 16 * 1024 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecordingService.stop();
+    }
+
+    private void emitGradingEvent(String quizId) {
+        QuizGradingEvent event = new QuizGradingEvent();
+        event.begin();
+        event.setQuizId(quizId);
+        event.setQuestionCount(3);
+        event.setEarnedScore(66);
+        event.commit();
+    }
+
+    @Test
+    void startDumpAndStop_writeRecordingsWithDomainEvents() throws Exception {
+        FlightRecordingResponse started = flightRecordingService.start();
+        assertTrue(started.isRunning());
+        assertNotNull(started.getStartedOn());
+
+        emitGradingEvent("quiz-1");
+        FlightRecordingResponse snapshot = flightRecordingService.dump();
+        assertTrue(snapshot.isRunning());
+        assertTrue(Files.size(Path.of(snapshot.getFile())) > 0);
+
+        FlightRecordingResponse stopped = flightRecordingService.stop();
+        assertFalse(stopped.isRunning());
+        assertNull(stopped.getStartedOn());
+
+        List<RecordedEvent> gradingEvents = RecordingFile.readAllEvents(Path.of(stopped.getFile())).stream()
+                .filter(event -> event.getEventType().getName().equals("bg.softuni.onlinequizplatform.QuizGrading"))
+                .toList();
+        assertEquals(1, gradingEvents.size());
+        assertEquals("quiz-1", gradingEvents.get(0).getString("quizId"));
+        assertEquals(3, gradingEvents.get(0).getInt("questionCount"));
+    }
+
+    @Test
+    void start_whenAlreadyRunning_keepsTheCurrentRecording() {
+        FlightRecordingResponse first = flightRecordingService.start();
+        FlightRecordingResponse second = flightRecordingService.start();
+
+        assertEquals(first.getStartedOn(), second.getStartedOn());
+    }
+
+    @Test
+    void dumpAndStop_withoutRecording_writeNothing() throws Exception {
+        assertNull(flightRecordingService.dump().getFile());
+        assertNull(flightRecordingService.stop().getFile());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
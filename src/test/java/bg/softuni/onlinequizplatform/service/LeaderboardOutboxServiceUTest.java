@@ -0,0 +1,85 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.LeaderboardOutboxEvent;
+import bg.softuni.onlinequizplatform.repository.LeaderboardOutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class LeaderboardOutboxServiceUTest {
+
+    private LeaderboardOutboxEventRepository outboxEventRepository;
+    private LeaderboardOutboxService leaderboardOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(LeaderboardOutboxEventRepository.class);
+        leaderboardOutboxService = new LeaderboardOutboxService(outboxEventRepository, new SimpleMeterRegistry(), 50, 30000, 1000, 8000);
+    }
+
+    private LeaderboardOutboxEvent event(UUID userId, int score, int attempts) {
+        return LeaderboardOutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .username("player")
+                .score(score)
+                .attempts(attempts)
+                .createdOn(LocalDateTime.now())
+                .nextAttemptOn(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void claimDueEvents_leasesClaimedEvents() {
+        LeaderboardOutboxEvent event = event(UUID.randomUUID(), 10, 0);
+        when(outboxEventRepository.findByNextAttemptOnLessThanEqualOrderByCreatedOnAsc(any(), eq(Limit.of(50)))).thenReturn(List.of(event));
+
+        LocalDateTime before = LocalDateTime.now();
+        List<LeaderboardOutboxEvent> claimed = leaderboardOutboxService.claimDueEvents();
+
+        assertEquals(List.of(event), claimed);
+        assertFalse(event.getNextAttemptOn().isBefore(before.plusSeconds(30)));
+    }
+
+    @Test
+    void markSent_deletesEventWithOlderPushesForSameUser() {
+        UUID userId = UUID.randomUUID();
+        LeaderboardOutboxEvent event = event(userId, 420, 0);
+
+        leaderboardOutboxService.markSent(event);
+
+        verify(outboxEventRepository).deleteByUserIdUpTo(userId, event.getCreatedOn());
+    }
+
+    @Test
+    void markFailed_backsOffExponentiallyUpToMaxDelay() {
+        LeaderboardOutboxEvent firstFailure = event(UUID.randomUUID(), 10, 0);
+        LeaderboardOutboxEvent repeatedFailure = event(UUID.randomUUID(), 20, 6);
+
+        LocalDateTime before = LocalDateTime.now();
+        leaderboardOutboxService.markFailed(firstFailure, new RuntimeException("leaderboard down"));
+        leaderboardOutboxService.markFailed(repeatedFailure, new RuntimeException("leaderboard down"));
+
+        assertEquals(1, firstFailure.getAttempts());
+        assertEquals("leaderboard down", firstFailure.getLastError());
+        assertFalse(firstFailure.getNextAttemptOn().isBefore(before.plusSeconds(1)));
+        assertTrue(firstFailure.getNextAttemptOn().isBefore(before.plusSeconds(2)));
+
+        assertEquals(7, repeatedFailure.getAttempts());
+        assertFalse(repeatedFailure.getNextAttemptOn().isBefore(before.plusSeconds(8)));
+        assertTrue(repeatedFailure.getNextAttemptOn().isBefore(before.plusSeconds(9)));
+
+        verify(outboxEventRepository, never()).deleteByUserIdUpTo(any(), any());
+        verify(outboxEventRepository, times(2)).save(any(LeaderboardOutboxEvent.class));
+    }
+}
@@ -0,0 +1,134 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.model.LeaderboardOutboxEvent;
+import bg.softuni.onlinequizplatform.web.dto.CreateScoreRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class LeaderboardScoreDispatcherUTest {
+
+    private LeaderboardClient leaderboardClient;
+    private LeaderboardOutboxService leaderboardOutboxService;
+    private SimpleMeterRegistry meterRegistry;
+    private LeaderboardScoreDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardClient = mock(LeaderboardClient.class);
+        leaderboardOutboxService = mock(LeaderboardOutboxService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new LeaderboardScoreDispatcher(leaderboardClient, leaderboardOutboxService, meterRegistry, 60 * 60 * 1000, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    private LeaderboardOutboxEvent event(UUID userId, int score, LocalDateTime createdOn) {
+        return LeaderboardOutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .username("player")
+                .score(score)
+                .createdOn(createdOn)
+                .nextAttemptOn(createdOn)
+                .build();
+    }
+
+    @Test
+    void flush_coalescesPushesPerUserKeepingLatestScore() {
+        UUID busyUser = UUID.randomUUID();
+        UUID otherUser = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        LeaderboardOutboxEvent latest = event(busyUser, 300, now);
+
+        dispatcher.submitAll(List.of(event(busyUser, 100, now.minusSeconds(2)), latest, event(otherUser, 50, now)));
+        dispatcher.submitAll(List.of(event(busyUser, 200, now.minusSeconds(1))));
+
+        assertEquals(2, dispatcher.flush());
+
+        ArgumentCaptor<CreateScoreRequest> request = ArgumentCaptor.forClass(CreateScoreRequest.class);
+        verify(leaderboardClient).upsertScore(request.capture(), eq(busyUser));
+        assertEquals(300, request.getValue().getScore());
+        verify(leaderboardOutboxService).markSent(latest);
+
+        assertEquals(4.0, meterRegistry.get("leaderboard.pushes.received").counter().count());
+        assertEquals(2.0, meterRegistry.get("leaderboard.pushes.sent").counter().count());
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    void flush_whenPushFails_handsEventBackToOutboxForRetry() {
+        LeaderboardOutboxEvent event = event(UUID.randomUUID(), 10, LocalDateTime.now());
+        RuntimeException failure = new RuntimeException("leaderboard down");
+        when(leaderboardClient.upsertScore(any(), any())).thenThrow(failure);
+
+        dispatcher.submitAll(List.of(event));
+
+        assertEquals(0, dispatcher.flush());
+        verify(leaderboardOutboxService).markFailed(event, failure);
+        verify(leaderboardOutboxService, never()).markSent(any());
+        assertEquals(1.0, meterRegistry.get("leaderboard.pushes.failed").counter().count());
+    }
+
+    @Test
+    void flush_whenMarkSentThrows_keepsFlushingLaterPushes() {
+        LeaderboardOutboxEvent first = event(UUID.randomUUID(), 10, LocalDateTime.now());
+        LeaderboardOutboxEvent second = event(UUID.randomUUID(), 20, LocalDateTime.now());
+        doThrow(new RuntimeException("database down")).doNothing().when(leaderboardOutboxService).markSent(any());
+
+        dispatcher.submitAll(List.of(first));
+        assertDoesNotThrow(() -> dispatcher.flush());
+
+        dispatcher.submitAll(List.of(second));
+        assertEquals(1, dispatcher.flush());
+
+        verify(leaderboardClient).upsertScore(any(), eq(second.getUserId()));
+        verify(leaderboardOutboxService).markSent(second);
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    void submitAll_whenRelayReclaimsHeldEvent_pushesItOnlyOnce() {
+        LeaderboardOutboxEvent event = event(UUID.randomUUID(), 10, LocalDateTime.now());
+        when(leaderboardClient.upsertScore(any(), any())).thenAnswer(invocation -> {
+            dispatcher.submitAll(List.of(event));
+            return null;
+        });
+
+        dispatcher.submitAll(List.of(event));
+        dispatcher.submitAll(List.of(event));
+        assertEquals(1, dispatcher.getPendingCount());
+
+        assertEquals(1, dispatcher.flush());
+        assertEquals(0, dispatcher.getPendingCount());
+        assertEquals(1.0, meterRegistry.get("leaderboard.pushes.received").counter().count());
+
+        dispatcher.submitAll(List.of(event));
+        assertEquals(1, dispatcher.getPendingCount());
+    }
+
+    @Test
+    void submitAll_whenThresholdReached_flushesOnDispatcherThread() {
+        dispatcher.shutdown();
+        dispatcher = new LeaderboardScoreDispatcher(leaderboardClient, leaderboardOutboxService, meterRegistry, 60 * 60 * 1000, 2);
+
+        dispatcher.submitAll(List.of(event(UUID.randomUUID(), 1, LocalDateTime.now()), event(UUID.randomUUID(), 2, LocalDateTime.now())));
+
+        verify(leaderboardClient, timeout(5000).times(2)).upsertScore(any(), any());
+    }
+}
@@ -0,0 +1,106 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.AnswerKey;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.CompiledQuiz;
+import bg.softuni.onlinequizplatform.model.QuizAttempt;
+import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.repository.ArchivedQuizAttemptRepository;
+import bg.softuni.onlinequizplatform.repository.QuizAttemptRepository;
+import bg.softuni.onlinequizplatform.web.dto.QuestionOptionRequest;
+import bg.softuni.onlinequizplatform.web.dto.QuestionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class QuizAttemptServiceUTest {
+
+    private QuizAttemptRepository quizAttemptRepository;
+    private ArchivedQuizAttemptRepository archivedQuizAttemptRepository;
+    private QuizAttemptService quizAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        quizAttemptRepository = mock(QuizAttemptRepository.class);
+        archivedQuizAttemptRepository = mock(ArchivedQuizAttemptRepository.class);
+        quizAttemptService = new QuizAttemptService(quizAttemptRepository, archivedQuizAttemptRepository, 2);
+    }
+
+    @Test
+    void record_insertsAttemptWithSelectedAnswers() {
+        UUID quizId = UUID.randomUUID();
+        UUID selected = UUID.randomUUID();
+        CompiledQuiz quiz = CompiledQuiz.builder()
+                .id(quizId)
+                .name("Capitals")
+                .category(Category.GEOGRAPHY)
+                .score(100)
+                .questions(List.of())
+                .answerKey(AnswerKey.of(100, List.of()))
+                .build();
+        User user = User.builder().id(UUID.randomUUID()).build();
+        List<QuestionRequest> questions = List.of(
+                QuestionRequest.builder().options(List.of(
+                        QuestionOptionRequest.builder().id(UUID.randomUUID()).isSelected(false).build(),
+                        QuestionOptionRequest.builder().id(selected).isSelected(true).build())).build(),
+                QuestionRequest.builder().options(List.of(
+                        QuestionOptionRequest.builder().id(UUID.randomUUID()).build())).build());
+
+        quizAttemptService.record(quiz, user, 50, questions);
+
+        ArgumentCaptor<QuizAttempt> captor = ArgumentCaptor.forClass(QuizAttempt.class);
+        verify(quizAttemptRepository).save(captor.capture());
+        QuizAttempt attempt = captor.getValue();
+        assertEquals(quizId, attempt.getQuizId());
+        assertEquals(user.getId(), attempt.getUserId());
+        assertEquals("Capitals", attempt.getQuizName());
+        assertEquals(Category.GEOGRAPHY, attempt.getCategory());
+        assertEquals(100, attempt.getScore());
+        assertEquals(50, attempt.getEarnedScore());
+        assertEquals(selected + ",", attempt.getAnswers());
+        assertNotNull(attempt.getSubmittedOn());
+    }
+
+    @Test
+    void getRecentAttemptsByUser_whenNegativePage_thenReadsFirstPage() {
+        UUID userId = UUID.randomUUID();
+
+        quizAttemptService.getRecentAttemptsByUser(userId, -3);
+
+        verify(quizAttemptRepository).findByUserIdOrderBySubmittedOnDesc(userId, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void archiveBatchSubmittedBefore_copiesThenDeletesOneBatch() {
+        LocalDateTime cutoff = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(quizAttemptRepository.findIdsSubmittedBefore(cutoff, Limit.of(2))).thenReturn(ids);
+        when(quizAttemptRepository.deleteByIdIn(ids)).thenReturn(2);
+
+        assertEquals(2, quizAttemptService.archiveBatchSubmittedBefore(cutoff));
+
+        var inOrder = inOrder(quizAttemptRepository);
+        inOrder.verify(quizAttemptRepository).copyToArchive(eq(ids), any());
+        inOrder.verify(quizAttemptRepository).deleteByIdIn(ids);
+    }
+
+    @Test
+    void archiveBatchSubmittedBefore_whenNothingIsOld_thenWritesNothing() {
+        when(quizAttemptRepository.findIdsSubmittedBefore(any(), any())).thenReturn(List.of());
+
+        assertEquals(0, quizAttemptService.archiveBatchSubmittedBefore(LocalDateTime.now()));
+
+        verify(quizAttemptRepository, never()).copyToArchive(any(), any());
+        verify(quizAttemptRepository, never()).deleteByIdIn(any());
+    }
+}
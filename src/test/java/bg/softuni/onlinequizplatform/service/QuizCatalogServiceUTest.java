@@ -0,0 +1,114 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.QuizCursor;
+import bg.softuni.onlinequizplatform.model.QuizPage;
+import bg.softuni.onlinequizplatform.model.QuizSummary;
+import bg.softuni.onlinequizplatform.repository.QuizRepository;
+import bg.softuni.onlinequizplatform.repository.QuizSummaryRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class QuizCatalogServiceUTest {
+
+    private QuizRepository quizRepository;
+    private QuizCatalogService quizCatalogService;
+
+    @BeforeEach
+    void setUp() {
+        quizRepository = mock(QuizRepository.class);
+        quizCatalogService = new QuizCatalogService(quizRepository, new CaffeineCacheManager(), "maximumSize=16", 2);
+    }
+
+    private QuizSummaryRow row(String name, Category category) {
+        QuizSummaryRow row = mock(QuizSummaryRow.class);
+        when(row.getId()).thenReturn(UUID.randomUUID());
+        when(row.getName()).thenReturn(name);
+        when(row.getCategory()).thenReturn(category);
+        when(row.getScore()).thenReturn(100);
+        when(row.getCreatedOn()).thenReturn(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return row;
+    }
+
+    @Test
+    void getCatalog_returnsFirstPageOfEveryCategory() {
+        List<QuizSummaryRow> geography = List.of(row("Capitals", Category.GEOGRAPHY), row("Rivers", Category.GEOGRAPHY), row("Peaks", Category.GEOGRAPHY));
+        List<QuizSummaryRow> music = List.of(row("Composers", Category.MUSIC));
+        when(quizRepository.findFirstPageByCategory(any(), any())).thenReturn(List.of());
+        when(quizRepository.findFirstPageByCategory(Category.GEOGRAPHY, Limit.of(3))).thenReturn(geography);
+        when(quizRepository.findFirstPageByCategory(Category.MUSIC, Limit.of(3))).thenReturn(music);
+
+        EnumMap<Category, QuizPage> catalog = quizCatalogService.getCatalog();
+
+        assertEquals(List.of(Category.values()), List.copyOf(catalog.keySet()));
+        assertEquals(List.of("Capitals", "Rivers"), catalog.get(Category.GEOGRAPHY).getQuizzes().stream().map(QuizSummary::getName).toList());
+        assertEquals(QuizCursor.after(catalog.get(Category.GEOGRAPHY).getQuizzes().get(1)).encode(), catalog.get(Category.GEOGRAPHY).getNextCursor());
+        assertTrue(catalog.get(Category.HISTORY).getQuizzes().isEmpty());
+        assertNull(catalog.get(Category.MUSIC).getNextCursor());
+        assertThrows(UnsupportedOperationException.class, () -> catalog.get(Category.MUSIC).getQuizzes().clear());
+    }
+
+    @Test
+    void getCatalog_servesRepeatedReadsFromCache() {
+        when(quizRepository.findFirstPageByCategory(any(), any())).thenReturn(List.of());
+
+        quizCatalogService.getCatalog();
+        quizCatalogService.getCatalog();
+        quizCatalogService.getPage(Category.HISTORY, null);
+
+        verify(quizRepository, times(Category.values().length)).findFirstPageByCategory(any(), any());
+    }
+
+    @Test
+    void getPage_withCursor_readsPageAfterCursorWithoutCaching() {
+        UUID lastId = UUID.randomUUID();
+        LocalDateTime lastCreatedOn = LocalDateTime.of(2025, 3, 1, 8, 30, 15, 123456000);
+        String cursor = new QuizCursor(lastCreatedOn, lastId).encode();
+        List<QuizSummaryRow> rows = List.of(row("Empires", Category.HISTORY));
+        when(quizRepository.findPageByCategoryAfter(Category.HISTORY, lastCreatedOn, lastId, Limit.of(3))).thenReturn(rows);
+
+        QuizPage page = quizCatalogService.getPage(Category.HISTORY, cursor);
+        quizCatalogService.getPage(Category.HISTORY, cursor);
+
+        assertEquals(1, page.getQuizzes().size());
+        assertNull(page.getNextCursor());
+        verify(quizRepository, times(2)).findPageByCategoryAfter(Category.HISTORY, lastCreatedOn, lastId, Limit.of(3));
+        verify(quizRepository, never()).findFirstPageByCategory(any(), any());
+    }
+
+    @Test
+    void getPage_withMalformedCursor_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> quizCatalogService.getPage(Category.HISTORY, "not-a-cursor"));
+        verifyNoInteractions(quizRepository);
+    }
+
+    @Test
+    void evict_reloadsOnlyTheEvictedCategory() {
+        when(quizRepository.findFirstPageByCategory(any(), any())).thenReturn(List.of());
+        quizCatalogService.getCatalog();
+
+        quizCatalogService.evict(List.of(Category.MUSIC));
+        quizCatalogService.getCatalog();
+
+        verify(quizRepository, times(2)).findFirstPageByCategory(eq(Category.MUSIC), any());
+        verify(quizRepository, times(1)).findFirstPageByCategory(eq(Category.HISTORY), any());
+    }
+
+    @Test
+    void evict_withNoCategories_doesNothing() {
+        quizCatalogService.evict(List.of());
+
+        verifyNoInteractions(quizRepository);
+    }
+}
@@ -1,9 +1,7 @@
 package bg.softuni.onlinequizplatform.service;
 
-import bg.softuni.onlinequizplatform.client.LeaderboardClient;
 import bg.softuni.onlinequizplatform.model.*;
 import bg.softuni.onlinequizplatform.repository.QuizRepository;
-import bg.softuni.onlinequizplatform.web.dto.CreateScoreRequest;
 import bg.softuni.onlinequizplatform.web.dto.NewQuizRequest;
 import bg.softuni.onlinequizplatform.web.dto.QuestionOptionRequest;
 import bg.softuni.onlinequizplatform.web.dto.QuestionRequest;
@@ -25,7 +23,19 @@ public class QuizServiceUTest {
     private QuizRepository quizRepository;
 
     @Mock
-    private LeaderboardClient leaderboardClient;
+    private QuestionService questionService;
+
+    @Mock
+    private QuestionOptionService questionOptionService;
+
+    @Mock
+    private CompiledQuizService compiledQuizService;
+
+    @Mock
+    private QuizCatalogService quizCatalogService;
+
+    @Mock
+    private QuizAttemptService quizAttemptService;
 
     @InjectMocks
     private QuizService quizService;
@@ -55,15 +65,25 @@ public class QuizServiceUTest {
         QuizRepository quizRepository = mock(QuizRepository.class);
         QuestionService questionService = mock(QuestionService.class);
         QuestionOptionService questionOptionService = mock(QuestionOptionService.class);
-        LeaderboardClient leaderboardClient = mock(LeaderboardClient.class);
+        CompiledQuizService compiledQuizService = mock(CompiledQuizService.class);
+        QuizCatalogService quizCatalogService = mock(QuizCatalogService.class);
+        QuizAttemptService quizAttemptService = mock(QuizAttemptService.class);
 
         QuizService quizService = new QuizService(
                 quizRepository,
                 questionService,
                 questionOptionService,
-                leaderboardClient
+                compiledQuizService,
+                quizCatalogService,
+                quizAttemptService
         );
 
+        when(quizRepository.save(any(Quiz.class))).thenAnswer(invocation -> {
+            Quiz quiz = invocation.getArgument(0);
+            quiz.setId(UUID.randomUUID());
+            return quiz;
+        });
+
         NewQuizRequest req = new NewQuizRequest();
         req.setName("Test Quiz");
         req.setImageUrl("url");
@@ -84,51 +104,22 @@ public class QuizServiceUTest {
         verify(quizRepository, times(2)).save(any(Quiz.class));
         verify(questionService, times(2)).save(any(Question.class));
         verify(questionOptionService, times(2)).save(any(QuestionOption.class));
-    }
-
-    @Test
-    void getAllQuizzesByCategory_whenQuizExists_thenReturnsQuizList() {
-        List<Quiz> quizzes = new ArrayList<>();
-
-        Quiz quiz = Quiz.builder().
-                id(UUID.randomUUID())
-                .category(Category.GEOGRAPHY)
-                .build();
-
-        quizzes.add(quiz);
-
-        when(quizRepository.findByCategory(Category.GEOGRAPHY)).thenReturn(quizzes);
-
-        List<Quiz> result = quizService.getAllQuizzesByCategory(Category.GEOGRAPHY);
-
-        assertEquals(quizzes.size(), result.size());
-    }
-
-    @Test
-    void getAllQuizzesByCategory_whenNoQuizExists_thenReturnsEmptyList() {
-        List<Quiz> quizzes = new ArrayList<>();
-
-        when(quizRepository.findByCategory(Category.HISTORY)).thenReturn(quizzes);
-
-        List<Quiz> result = quizService.getAllQuizzesByCategory(Category.HISTORY);
-
-        assertTrue(result.isEmpty());
+        verify(compiledQuizService).invalidate(anyCollection());
+        verify(quizCatalogService).evict(List.of(Category.GEOGRAPHY));
     }
 
     @Test
     void submitQuiz_whenQuizDontExists_thenThrowNewRuntimeException() {
-        when(quizRepository.findById(any())).thenReturn(Optional.empty());
+        when(compiledQuizService.getCompiledQuiz(any())).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () -> quizService.submitQuiz(new NewQuizRequest(), new User()));
+        verifyNoInteractions(quizAttemptService);
     }
 
     @Test
-    void submitQuiz_updatesScoreAndCallsLeaderboard() {
+    void submitQuiz_recordsAttemptWithoutTouchingQuizRow() {
         UUID id = UUID.randomUUID();
 
-        Quiz quiz = new Quiz();
-        quiz.setId(id);
-
         NewQuizRequest req = new NewQuizRequest();
         req.setId(id);
         req.setScore(100);
@@ -138,76 +129,183 @@ public class QuizServiceUTest {
         qReq.setOptions(List.of(opt));
         req.setQuestions(List.of(qReq));
 
+        CompiledQuiz compiledQuiz = compiledQuiz(id, 100, opt.getId());
+        when(compiledQuizService.getCompiledQuiz(id)).thenReturn(Optional.of(compiledQuiz));
+
         User user = new User();
         user.setId(UUID.randomUUID());
         user.setUsername("test");
         user.setAvatarUrl("url");
 
-        when(quizRepository.findById(id)).thenReturn(Optional.of(quiz));
+        QuizAttempt attempt = QuizAttempt.builder().score(100).earnedScore(100).build();
+        when(quizAttemptService.record(compiledQuiz, user, 100, req.getQuestions())).thenReturn(attempt);
 
-        quizService.submitQuiz(req, user);
+        assertSame(attempt, quizService.submitQuiz(req, user));
+        verifyNoInteractions(quizRepository);
+    }
 
-        verify(quizRepository).save(quiz);
-        verify(leaderboardClient).upsertScore(
-                any(CreateScoreRequest.class),
-                eq(user.getId())
-        );
+    private CompiledQuiz compiledQuiz(UUID quizId, int score, UUID... correctOptionIds) {
+        List<CompiledQuestion> questions = new ArrayList<>();
+        for (UUID correctOptionId : correctOptionIds) {
+            questions.add(CompiledQuestion.builder()
+                    .id(UUID.randomUUID())
+                    .name("Question")
+                    .options(List.of(
+                            CompiledOption.builder().id(correctOptionId).text("Correct").correct(true).build(),
+                            CompiledOption.builder().id(UUID.randomUUID()).text("Wrong").correct(false).build()))
+                    .build());
+        }
+
+        return CompiledQuiz.builder()
+                .id(quizId)
+                .score(score)
+                .questions(questions)
+                .answerKey(AnswerKey.of(score, questions))
+                .build();
     }
 
     @Test
     void getQuizEarnedScore_whenAllAnswersAreCorrect_thenReturnsFullScore(){
-        QuestionOptionRequest option1 = QuestionOptionRequest.builder()
-                .text("Option 1")
-                .isCorrect(true)
-                .isSelected(true)
-                .build();
-
-        QuestionOptionRequest option2 = QuestionOptionRequest.builder()
-                .text("Option 2")
-                .isCorrect(false)
-                .isSelected(false)
-                .build();
+        UUID quizId = UUID.randomUUID();
+        UUID correctOption1 = UUID.randomUUID();
+        UUID correctOption2 = UUID.randomUUID();
 
         QuestionRequest question1 = QuestionRequest.builder()
                 .name("Question 1")
-                .options(List.of(option1, option2))
+                .options(List.of(
+                        QuestionOptionRequest.builder().id(correctOption1).text("Option 1").isSelected(true).build(),
+                        QuestionOptionRequest.builder().id(UUID.randomUUID()).text("Option 2").isSelected(false).build()))
                 .build();
 
         QuestionRequest question2 = QuestionRequest.builder()
                 .name("Question 2")
-                .options(List.of(option1, option2))
+                .options(List.of(
+                        QuestionOptionRequest.builder().id(correctOption2).text("Option 1").isSelected(true).build(),
+                        QuestionOptionRequest.builder().id(UUID.randomUUID()).text("Option 2").isSelected(false).build()))
                 .build();
 
         NewQuizRequest quizRequest = NewQuizRequest.builder()
+                .id(quizId)
                 .score(100)
                 .questions(List.of(question1, question2))
                 .build();
 
+        when(compiledQuizService.getCompiledQuiz(quizId)).thenReturn(Optional.of(compiledQuiz(quizId, 100, correctOption1, correctOption2)));
+
         int result = quizService.getQuizEarnedScore(quizRequest);
 
         assertEquals(100, result);
     }
 
+    @Test
+    void getQuizEarnedScore_ignoresPostedCorrectFlagsAndScore() {
+        UUID quizId = UUID.randomUUID();
+        UUID correctOption = UUID.randomUUID();
+        UUID wrongOption = UUID.randomUUID();
+
+        QuestionRequest question = QuestionRequest.builder()
+                .options(List.of(
+                        QuestionOptionRequest.builder().id(correctOption).isCorrect(false).isSelected(false).build(),
+                        QuestionOptionRequest.builder().id(wrongOption).isCorrect(true).isSelected(true).build()))
+                .build();
+
+        NewQuizRequest quizRequest = NewQuizRequest.builder()
+                .id(quizId)
+                .score(100000)
+                .questions(List.of(question))
+                .build();
+
+        when(compiledQuizService.getCompiledQuiz(quizId)).thenReturn(Optional.of(compiledQuiz(quizId, 100, correctOption)));
+
+        assertEquals(0, quizService.getQuizEarnedScore(quizRequest));
+    }
+
+    @Test
+    void getQuizEarnedScore_whenCorrectOptionIsPostedUnderAnotherQuestion_thenItDoesNotCount() {
+        UUID quizId = UUID.randomUUID();
+        UUID correctOption1 = UUID.randomUUID();
+        UUID correctOption2 = UUID.randomUUID();
+
+        QuestionRequest question1 = QuestionRequest.builder()
+                .options(List.of(QuestionOptionRequest.builder().id(correctOption2).isSelected(true).build()))
+                .build();
+        QuestionRequest question2 = QuestionRequest.builder()
+                .options(List.of(QuestionOptionRequest.builder().id(correctOption2).isSelected(true).build()))
+                .build();
+
+        NewQuizRequest quizRequest = NewQuizRequest.builder()
+                .id(quizId)
+                .questions(List.of(question1, question2))
+                .build();
+
+        when(compiledQuizService.getCompiledQuiz(quizId)).thenReturn(Optional.of(compiledQuiz(quizId, 100, correctOption1, correctOption2)));
+
+        assertEquals(50, quizService.getQuizEarnedScore(quizRequest));
+    }
+
+    @Test
+    void getQuizEarnedScore_whenQuizNotFound_thenThrowsException() {
+        UUID quizId = UUID.randomUUID();
+        when(compiledQuizService.getCompiledQuiz(quizId)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> quizService.getQuizEarnedScore(NewQuizRequest.builder().id(quizId).build()));
+    }
+
     @Test
     void deleteQuizById_whenQuizNotFound_thenThrowsException() {
         UUID quizId = UUID.randomUUID();
 
-        when(quizRepository.findById(quizId)).thenReturn(Optional.empty());
+        when(quizRepository.existsById(quizId)).thenReturn(false);
 
         assertThrows(IllegalArgumentException.class, () -> quizService.deleteQuizById(quizId));
+        verifyNoInteractions(questionService, questionOptionService);
+    }
+
+    @Test
+    void deleteQuizById_whenQuizExists_thenDeletesOptionsQuestionsAndQuizBySetBasedStatements() {
+        UUID quizId = UUID.randomUUID();
+
+        when(quizRepository.existsById(quizId)).thenReturn(true);
+
+        quizService.deleteQuizById(quizId);
+
+        verify(questionOptionService).deleteAllByQuizIds(List.of(quizId));
+        verify(questionService).deleteAllByQuizIds(List.of(quizId));
+        verify(quizRepository).deleteAllByIdInBatch(List.of(quizId));
+        verify(quizRepository, never()).delete(any(Quiz.class));
     }
 
     @Test
-    void getAllQuizzesByUser_returnsUserQuizzes() {
-        UUID userId = UUID.randomUUID();
-        List<Quiz> quizzes = List.of(new Quiz(), new Quiz());
+    void deleteQuizzesByIds_evictsOnlyCategoriesOfDeletedQuizzes() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        when(quizRepository.findCategoriesByIdIn(ids)).thenReturn(List.of(Category.HISTORY));
+
+        quizService.deleteQuizzesByIds(ids);
 
-        when(quizRepository.findAllByUser_IdOrderByUpdatedOnDesc(userId)).thenReturn(quizzes);
+        verify(quizCatalogService).evict(List.of(Category.HISTORY));
+    }
 
-        List<Quiz> result = quizService.getAllQuizzesByUser(userId);
+    @Test
+    void deleteQuizzesByIds_whenManyIds_thenDeletesInBoundedChunks() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ids.add(ids.get(0));
+
+        quizService.deleteQuizzesByIds(ids);
+
+        verify(questionOptionService, times(3)).deleteAllByQuizIds(anyCollection());
+        verify(questionService, times(3)).deleteAllByQuizIds(anyCollection());
+        verify(quizRepository, times(3)).deleteAllByIdInBatch(anyIterable());
+    }
+
+    @Test
+    void deleteQuizzesByIds_whenNoIds_thenDoesNothing() {
+        quizService.deleteQuizzesByIds(List.of());
 
-        assertEquals(2, result.size());
-        verify(quizRepository).findAllByUser_IdOrderByUpdatedOnDesc(userId);
+        verifyNoInteractions(questionService, questionOptionService, quizRepository);
     }
 
 }
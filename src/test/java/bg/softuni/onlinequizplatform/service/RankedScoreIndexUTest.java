@@ -0,0 +1,109 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.RankedScore;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankedScoreIndexUTest {
+
+    private static final Comparator<Map.Entry<UUID, Integer>> RANK_ORDER =
+            Map.Entry.<UUID, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    @Test
+    void rankOf_ordersByScoreDescendingThenUserId() {
+        RankedScoreIndex index = new RankedScoreIndex();
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        UUID leader = UUID.randomUUID();
+
+        index.put(second, "second", "avatar", 100);
+        index.put(first, "first", "avatar", 100);
+        index.put(leader, "leader", "avatar", 500);
+
+        assertEquals(1, index.rankOf(leader));
+        assertEquals(2, index.rankOf(first));
+        assertEquals(3, index.rankOf(second));
+        assertEquals(0, index.rankOf(UUID.randomUUID()));
+    }
+
+    @Test
+    void put_whenUserAlreadyIndexed_movesUserToNewRank() {
+        RankedScoreIndex index = new RankedScoreIndex();
+        UUID climber = UUID.randomUUID();
+        index.put(climber, "climber", "avatar", 10);
+        index.put(UUID.randomUUID(), "other", "avatar", 50);
+
+        index.put(climber, "climber", "avatar", 90);
+
+        assertEquals(1, index.rankOf(climber));
+        assertEquals(2, index.size());
+        assertEquals(90, index.top(1).get(0).getScore());
+    }
+
+    @Test
+    void around_returnsNeighboursClampedAtTheTop() {
+        RankedScoreIndex index = new RankedScoreIndex();
+        List<UUID> users = new ArrayList<>();
+        for (int score = 10; score >= 1; score--) {
+            UUID userId = UUID.randomUUID();
+            users.add(userId);
+            index.put(userId, "user" + score, "avatar", score);
+        }
+
+        List<RankedScore> aroundFifth = index.around(users.get(4), 2);
+        assertEquals(List.of(3, 4, 5, 6, 7), aroundFifth.stream().map(RankedScore::getRank).toList());
+
+        List<RankedScore> aroundLeader = index.around(users.get(0), 2);
+        assertEquals(List.of(1, 2, 3), aroundLeader.stream().map(RankedScore::getRank).toList());
+
+        assertTrue(index.around(UUID.randomUUID(), 2).isEmpty());
+    }
+
+    @Test
+    void randomUpdatesAndRemovals_matchSortedReference() {
+        Random random = new Random(7);
+        RankedScoreIndex index = new RankedScoreIndex();
+        Map<UUID, Integer> reference = new HashMap<>();
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            userIds.add(UUID.randomUUID());
+        }
+
+        for (int step = 0; step < 5000; step++) {
+            UUID userId = userIds.get(random.nextInt(userIds.size()));
+            if (random.nextInt(10) == 0) {
+                index.remove(userId);
+                reference.remove(userId);
+            } else {
+                int score = random.nextInt(200);
+                index.put(userId, "user", "avatar", score);
+                reference.put(userId, score);
+            }
+        }
+
+        List<UUID> expectedOrder = reference.entrySet().stream().sorted(RANK_ORDER).map(Map.Entry::getKey).toList();
+
+        assertEquals(expectedOrder.size(), index.size());
+        assertEquals(expectedOrder, index.top(expectedOrder.size() + 10).stream().map(RankedScore::getUserId).toList());
+        for (int i = 0; i < expectedOrder.size(); i++) {
+            assertEquals(i + 1, index.rankOf(expectedOrder.get(i)));
+        }
+    }
+
+    @Test
+    void replaceAll_rebuildsIndexFromScratch() {
+        RankedScoreIndex index = new RankedScoreIndex();
+        UUID stale = UUID.randomUUID();
+        index.put(stale, "stale", "avatar", 1000);
+
+        UUID fresh = UUID.randomUUID();
+        index.replaceAll(List.of(RankedScore.builder().userId(fresh).username("fresh").score(5).build()));
+
+        assertEquals(0, index.rankOf(stale));
+        assertEquals(1, index.rankOf(fresh));
+        assertEquals(1, index.size());
+    }
+}
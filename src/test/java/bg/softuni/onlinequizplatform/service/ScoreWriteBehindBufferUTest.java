@@ -0,0 +1,124 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.model.ScoreDelta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreWriteBehindBufferUTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ScoreWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new ScoreWriteBehindBuffer(meterRegistry, true);
+    }
+
+    @Test
+    void add_accumulatesPerUserAndReturnsPendingTotal() {
+        UUID userId = UUID.randomUUID();
+
+        assertEquals(10, buffer.add(userId, 10));
+        assertEquals(25, buffer.add(userId, 15));
+        assertEquals(25, buffer.getPending(userId));
+        assertEquals(1.0, meterRegistry.get("score.write-behind.pending").gauge().value());
+    }
+
+    @Test
+    void drain_returnsDeltasAndEmptiesBuffer() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        buffer.add(first, 10);
+        buffer.add(second, 5);
+
+        assertEquals(Map.of(first, ScoreDelta.ofScore(10), second, ScoreDelta.ofScore(5)), buffer.drain());
+        assertTrue(buffer.drain().isEmpty());
+        assertEquals(0.0, meterRegistry.get("score.write-behind.pending").gauge().value());
+    }
+
+    @Test
+    void drain_keepsDeltasInProjectionUntilCompleted() {
+        UUID userId = UUID.randomUUID();
+        buffer.add(userId, 10);
+        Map<UUID, ScoreDelta> drained = buffer.drain();
+
+        assertEquals(10, buffer.getPending(userId));
+        assertEquals(15, buffer.add(userId, 5));
+
+        buffer.complete(drained);
+
+        assertEquals(5, buffer.getPending(userId));
+        assertEquals(Map.of(userId, ScoreDelta.ofScore(5)), buffer.drain());
+    }
+
+    @Test
+    void restore_putsDeltasBackOnTopOfNewOnes() {
+        UUID userId = UUID.randomUUID();
+        buffer.add(userId, 10);
+        Map<UUID, ScoreDelta> drained = buffer.drain();
+        buffer.add(userId, 3);
+
+        buffer.restore(drained);
+
+        assertEquals(13, buffer.getPending(userId));
+        assertEquals(13, buffer.drain().get(userId).getScore());
+    }
+
+    @Test
+    void add_mergesQuizResultCountersAndKeepsBestResult() {
+        UUID userId = UUID.randomUUID();
+        buffer.add(userId, ScoreDelta.ofQuizResult(90, 100));
+        buffer.add(userId, ScoreDelta.ofQuizResult(20, 50));
+
+        assertEquals(ScoreDelta.builder().score(110).quizzesTaken(2).earnedPoints(110).possiblePoints(150).bestResultPercent(90).build(),
+                buffer.drain().get(userId));
+    }
+
+    @Test
+    void concurrentAddsAndDrains_loseNoDeltas() throws Exception {
+        List<UUID> users = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        int writers = 8;
+        int addsPerWriter = 20000;
+        ConcurrentHashMap<UUID, Long> flushed = new ConcurrentHashMap<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        try {
+            Future<?> drainer = executor.submit(() -> {
+                while (writing.get()) {
+                    buffer.drain().forEach((userId, delta) -> flushed.merge(userId, delta.getScore(), Long::sum));
+                }
+            });
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < addsPerWriter; i++) {
+                        buffer.add(users.get(i % users.size()), 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            drainer.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        buffer.drain().forEach((userId, delta) -> flushed.merge(userId, delta.getScore(), Long::sum));
+
+        assertEquals((long) writers * addsPerWriter, flushed.values().stream().mapToLong(Long::longValue).sum());
+    }
+}
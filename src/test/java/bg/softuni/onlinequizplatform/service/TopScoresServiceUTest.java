@@ -0,0 +1,181 @@
+package bg.softuni.onlinequizplatform.service;
+
+import bg.softuni.onlinequizplatform.client.LeaderboardClient;
+import bg.softuni.onlinequizplatform.model.TopScoresSnapshot;
+import bg.softuni.onlinequizplatform.web.dto.UserScoreResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TopScoresServiceUTest {
+
+    private LeaderboardClient leaderboardClient;
+    private List<Runnable> queuedRefreshes;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardClient = mock(LeaderboardClient.class);
+        queuedRefreshes = new ArrayList<>();
+    }
+
+    private TopScoresService service(long freshForMs) {
+        return service(freshForMs, 60_000);
+    }
+
+    private TopScoresService service(long freshForMs, long failureBackoffMs) {
+        return new TopScoresService(leaderboardClient, queuedRefreshes::add, freshForMs, failureBackoffMs);
+    }
+
+    private List<UserScoreResponse> scores(int score) {
+        return List.of(UserScoreResponse.builder().userId(UUID.randomUUID()).username("player").score(score).build());
+    }
+
+    private void runQueuedRefreshes() {
+        List<Runnable> refreshes = List.copyOf(queuedRefreshes);
+        queuedRefreshes.clear();
+        refreshes.forEach(Runnable::run);
+    }
+
+    @Test
+    void getTopScores_whileFresh_servesSnapshotWithoutCallingLeaderboard() {
+        TopScoresService topScoresService = service(60_000);
+        when(leaderboardClient.getTopScores()).thenReturn(scores(100));
+
+        TopScoresSnapshot first = topScoresService.getTopScores();
+        TopScoresSnapshot second = topScoresService.getTopScores();
+
+        assertSame(first, second);
+        assertFalse(second.isStale());
+        verify(leaderboardClient, times(1)).getTopScores();
+        assertTrue(queuedRefreshes.isEmpty());
+    }
+
+    @Test
+    void getTopScores_whenExpired_servesOldSnapshotAndRefreshesInBackgroundOnce() {
+        TopScoresService topScoresService = service(0);
+        when(leaderboardClient.getTopScores()).thenReturn(scores(100), scores(200));
+
+        topScoresService.getTopScores();
+        TopScoresSnapshot served = topScoresService.getTopScores();
+        topScoresService.getTopScores();
+
+        assertEquals(100, served.getScores().get(0).getScore());
+        assertEquals(1, queuedRefreshes.size());
+
+        runQueuedRefreshes();
+
+        assertEquals(200, topScoresService.getTopScores().getScores().get(0).getScore());
+    }
+
+    @Test
+    void getTopScores_whenRefreshFails_keepsServingLastSnapshotFlaggedAsStale() {
+        TopScoresService topScoresService = service(0);
+        when(leaderboardClient.getTopScores()).thenReturn(scores(100)).thenThrow(new RuntimeException("timeout"));
+
+        topScoresService.getTopScores();
+        topScoresService.getTopScores();
+        runQueuedRefreshes();
+
+        TopScoresSnapshot snapshot = topScoresService.getTopScores();
+
+        assertTrue(snapshot.isStale());
+        assertEquals(100, snapshot.getScores().get(0).getScore());
+    }
+
+    @Test
+    void getTopScores_whenNothingCachedAndLeaderboardDown_returnsEmptyStaleSnapshot() {
+        TopScoresService topScoresService = service(60_000);
+        when(leaderboardClient.getTopScores()).thenThrow(new RuntimeException("connection refused"));
+
+        TopScoresSnapshot snapshot = topScoresService.getTopScores();
+
+        assertTrue(snapshot.isStale());
+        assertTrue(snapshot.getScores().isEmpty());
+    }
+
+    @Test
+    void getTopScores_whenNothingCachedAndLeaderboardDown_doesNotRetryWithinBackoff() {
+        TopScoresService topScoresService = service(60_000, 60_000);
+        when(leaderboardClient.getTopScores()).thenThrow(new RuntimeException("connection refused"));
+
+        topScoresService.getTopScores();
+        TopScoresSnapshot snapshot = topScoresService.getTopScores();
+
+        assertTrue(snapshot.isStale());
+        assertTrue(snapshot.getScores().isEmpty());
+        assertNull(snapshot.getFetchedOn());
+        verify(leaderboardClient, times(1)).getTopScores();
+    }
+
+    @Test
+    void getTopScores_whenBackoffElapsed_retriesColdLoad() {
+        TopScoresService topScoresService = service(60_000, 0);
+        when(leaderboardClient.getTopScores()).thenThrow(new RuntimeException("connection refused")).thenReturn(scores(100));
+
+        topScoresService.getTopScores();
+        TopScoresSnapshot snapshot = topScoresService.getTopScores();
+
+        assertFalse(snapshot.isStale());
+        assertEquals(100, snapshot.getScores().get(0).getScore());
+    }
+
+    @Test
+    void getTopScores_whenNothingCached_sharesOneRemoteCallBetweenConcurrentCallers() throws Exception {
+        TopScoresService topScoresService = service(60_000);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(leaderboardClient.getTopScores()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return scores(100);
+        });
+
+        List<TopScoresSnapshot> results = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            callers.add(new Thread(() -> results.add(topScoresService.getTopScores())));
+        }
+
+        callers.get(0).start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (Thread caller : callers.subList(1, callers.size())) {
+            caller.start();
+        }
+        for (Thread caller : callers.subList(1, callers.size())) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (caller.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+        }
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join(5000);
+        }
+
+        verify(leaderboardClient, times(1)).getTopScores();
+        assertEquals(4, results.size());
+        results.forEach(result -> assertEquals(100, result.getScores().get(0).getScore()));
+    }
+
+    @Test
+    void invalidate_discardsInFlightRefreshAndReloadsOnNextRead() {
+        TopScoresService topScoresService = service(0);
+        when(leaderboardClient.getTopScores()).thenReturn(scores(100), scores(200), scores(300));
+
+        topScoresService.getTopScores();
+        topScoresService.getTopScores();
+        topScoresService.invalidate();
+        runQueuedRefreshes();
+
+        assertEquals(300, topScoresService.getTopScores().getScores().get(0).getScore());
+    }
+}
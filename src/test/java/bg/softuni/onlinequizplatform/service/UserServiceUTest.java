@@ -3,21 +3,31 @@ package bg.softuni.onlinequizplatform.service;
 import bg.softuni.onlinequizplatform.exception.PasswordMismatchException;
 import bg.softuni.onlinequizplatform.exception.UserNotFoundException;
 import bg.softuni.onlinequizplatform.exception.UsernameAlreadyExistException;
-import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.model.CurrentUserView;
+import bg.softuni.onlinequizplatform.model.ScoreDelta;
 import bg.softuni.onlinequizplatform.model.User;
 import bg.softuni.onlinequizplatform.model.UserRole;
+import bg.softuni.onlinequizplatform.repository.UserProgressRow;
 import bg.softuni.onlinequizplatform.repository.UserRepository;
+import bg.softuni.onlinequizplatform.web.dto.EditProfileRequest;
+import bg.softuni.onlinequizplatform.web.dto.EditUserRequest;
 import bg.softuni.onlinequizplatform.web.dto.RegisterRequest;
 import bg.softuni.onlinequizplatform.web.dto.UserScoreResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
@@ -38,6 +48,25 @@ public class UserServiceUTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private LeaderboardRankService leaderboardRankService;
+
+    @Mock
+    private ScoreWriteBehindBuffer scoreWriteBehindBuffer;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private SessionRegistry sessionRegistry;
+
+    @Mock
+    private LeaderboardOutboxService leaderboardOutboxService;
+
+    @Spy
+    private UserDetailsCacheService userDetailsCacheService =
+            new UserDetailsCacheService(new CaffeineCacheManager(), "maximumSize=100");
+
     @InjectMocks
     private UserService service;
 
@@ -80,6 +109,70 @@ public class UserServiceUTest {
                 () -> service.loadUserByUsername("missing"));
     }
 
+    @Test
+    void loadUserByUsername_ShouldServeRepeatedLoginsFromCache() {
+        when(userRepository.findByUsername("testuser"))
+                .thenReturn(Optional.of(testUser));
+
+        UserDetails first = service.loadUserByUsername("testuser");
+        UserDetails second = service.loadUserByUsername("testuser");
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void updateUserProfile_WhenDeactivated_ShouldRejectNextLogin() {
+        when(userRepository.findByUsername("testuser"))
+                .thenReturn(Optional.of(testUser));
+        assertTrue(service.loadUserByUsername("testuser").isEnabled());
+
+        EditUserRequest request = EditUserRequest.builder()
+                .username("testuser")
+                .newPassword("")
+                .avatarUrl("avatar")
+                .role(UserRole.PLAYER)
+                .active(false)
+                .build();
+        service.updateUserProfile("testuser", request);
+
+        assertFalse(service.loadUserByUsername("testuser").isEnabled());
+        verify(userDetailsCacheService).evict("testuser", "testuser");
+    }
+
+    @Test
+    void updateProfile_ShouldHashNewPasswordOnce_WhenCurrentPasswordMatches() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("111111", "encodedpass")).thenReturn(true);
+        when(passwordEncoder.encode("222222")).thenReturn("encoded222");
+
+        service.updateProfile(EditProfileRequest.builder()
+                .username("testuser")
+                .password("111111")
+                .newPassword("222222")
+                .avatarUrl("avatar")
+                .build());
+
+        assertEquals("encoded222", testUser.getPassword());
+        verify(passwordEncoder, times(1)).encode(any());
+    }
+
+    @Test
+    void updateProfile_WithoutNewPassword_ShouldNotHash() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        service.updateProfile(EditProfileRequest.builder()
+                .username("testuser")
+                .password("")
+                .newPassword("")
+                .avatarUrl("avatar")
+                .build());
+
+        assertEquals("encodedpass", testUser.getPassword());
+        verifyNoInteractions(passwordEncoder);
+    }
+
     @Test
     void register_ShouldCreateUser_WhenValid() {
         RegisterRequest req = RegisterRequest.builder()
@@ -172,53 +265,198 @@ public class UserServiceUTest {
         service.deleteUser("testuser");
 
         verify(userRepository).delete(testUser);
+        verify(currentUserService).evict(testUser.getId());
     }
 
     @Test
     void getAverageSuccessPercent_ShouldReturnZero_WhenNoQuizzes() {
-        when(quizService.getAllQuizzesByUser(testUser.getId()))
-                .thenReturn(List.of());
-
-        int result = service.getAverageSuccessPercent(testUser);
+        int result = service.getAverageSuccessPercent(CurrentUserView.builder().build());
 
         assertEquals(0, result);
     }
 
     @Test
     void getAverageSuccessPercent_ShouldCalculateCorrectly() {
-        List<Quiz> quizzes = List.of(new Quiz(), new Quiz());
-        testUser.setScore(200);
+        CurrentUserView currentUser = CurrentUserView.builder()
+                .earnedPoints(150)
+                .possiblePoints(200)
+                .build();
 
-        when(quizService.getAllQuizzesByUser(testUser.getId()))
-                .thenReturn(quizzes);
+        int result = service.getAverageSuccessPercent(currentUser);
 
-        int result = service.getAverageSuccessPercent(testUser);
+        assertEquals(75, result);
+        verifyNoInteractions(quizService);
+    }
 
-        assertEquals(200 / (2 * 2), result); // score / (quizCount * 2)
+    private UserProgressRow progress(int score, int level, UserRole role) {
+        UserProgressRow progress = mock(UserProgressRow.class);
+        when(progress.getScore()).thenReturn(score);
+        when(progress.getLevel()).thenReturn(level);
+        when(progress.getRole()).thenReturn(role);
+        when(progress.getUpdatedOn()).thenReturn(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return progress;
     }
 
     @Test
-    void setNewScore_ShouldIncreaseScore_AndSave() {
+    void setNewScore_ShouldIncrementAtomically_AndRefreshUserFromUpdatedRow() {
         testUser.setScore(500);
         testUser.setLevel(1);
+        UserProgressRow progress = progress(800, 1, UserRole.PLAYER);
 
-        when(userRepository.save(testUser)).thenReturn(testUser);
+        when(userRepository.incrementScores(eq(List.of(testUser.getId())), eq(300), eq(0), eq(0L), eq(0L), eq(0), any(), eq(1000.0), eq(10000), eq(UserRole.PLAYER), eq(UserRole.QUIZMASTER))).thenReturn(1);
+        when(userRepository.findProgressById(testUser.getId())).thenReturn(Optional.of(progress));
 
-        service.setNewScore(testUser, 300); // new score = 800
+        service.setNewScore(testUser, 300);
 
         assertEquals(800, testUser.getScore());
-        assertEquals(800 / 1000 + 1, testUser.getLevel());
-        verify(userRepository).save(testUser);
+        assertEquals(1, testUser.getLevel());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0), testUser.getUpdatedOn());
+        verify(userRepository, never()).save(any());
+        verify(leaderboardRankService).update(testUser);
+        verify(currentUserService).evict(testUser.getId());
     }
 
     @Test
-    void setNewScore_ShouldPromoteRole_WhenOver10000() {
-        testUser.setScore(10050);
+    void setNewScore_ShouldTakePromotedRoleFromDatabase() {
         testUser.setRole(UserRole.PLAYER);
+        UserProgressRow progress = progress(10150, 11, UserRole.QUIZMASTER);
+
+        when(userRepository.incrementScores(any(), anyInt(), anyInt(), anyLong(), anyLong(), anyInt(), any(), anyDouble(), anyInt(), any(), any())).thenReturn(1);
+        when(userRepository.findProgressById(testUser.getId())).thenReturn(Optional.of(progress));
 
         service.setNewScore(testUser, 100);
 
         assertEquals(UserRole.QUIZMASTER, testUser.getRole());
+        assertEquals(11, testUser.getLevel());
+        verify(userDetailsCacheService).evict("testuser");
+    }
+
+    @Test
+    void setNewScore_InWriteBehindMode_ShouldBufferDeltaAndProjectPendingScore() {
+        testUser.setScore(9950);
+        testUser.setRole(UserRole.PLAYER);
+
+        when(scoreWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(scoreWriteBehindBuffer.add(testUser.getId(), ScoreDelta.ofScore(40))).thenReturn(70L);
+
+        service.setNewScore(testUser, 40);
+
+        assertEquals(10020, testUser.getScore());
+        assertEquals(11, testUser.getLevel());
+        assertEquals(UserRole.QUIZMASTER, testUser.getRole());
+        verify(userRepository, never()).incrementScores(any(), anyInt(), anyInt(), anyLong(), anyLong(), anyInt(), any(), anyDouble(), anyInt(), any(), any());
+        verify(leaderboardRankService).update(testUser);
+    }
+
+    @Test
+    void recordQuizResult_ShouldWriteScoreAndCountersInOneStatement_AndEnqueueLeaderboardPush() {
+        testUser.setScore(500);
+        UserProgressRow progress = progress(580, 1, UserRole.PLAYER);
+
+        when(userRepository.incrementScores(eq(List.of(testUser.getId())), eq(80), eq(1), eq(80L), eq(100L), eq(80), any(), anyDouble(), anyInt(), any(), any())).thenReturn(1);
+        when(userRepository.findProgressById(testUser.getId())).thenReturn(Optional.of(progress));
+
+        service.recordQuizResult(testUser, 80, 100);
+
+        assertEquals(580, testUser.getScore());
+        verify(userRepository, times(1)).incrementScores(any(), anyInt(), anyInt(), anyLong(), anyLong(), anyInt(), any(), anyDouble(), anyInt(), any(), any());
+        verify(leaderboardOutboxService).enqueueScore(testUser);
+    }
+
+    @Test
+    void recordQuizResult_InWriteBehindMode_ShouldBufferScoreAndCountersWithoutWriting() {
+        testUser.setScore(500);
+
+        when(scoreWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(scoreWriteBehindBuffer.add(testUser.getId(), ScoreDelta.ofQuizResult(80, 100))).thenReturn(80L);
+
+        service.recordQuizResult(testUser, 80, 100);
+
+        assertEquals(580, testUser.getScore());
+        verifyNoInteractions(userRepository);
+        verify(leaderboardOutboxService).enqueueScore(testUser);
+    }
+
+    @Test
+    void flushPendingScores_ShouldIssueOneUpdatePerDistinctDelta() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        Map<UUID, ScoreDelta> deltas = new LinkedHashMap<>();
+        deltas.put(first, ScoreDelta.ofQuizResult(50, 100));
+        deltas.put(second, ScoreDelta.ofQuizResult(50, 100));
+        deltas.put(third, ScoreDelta.ofScore(120));
+
+        when(scoreWriteBehindBuffer.drain()).thenReturn(deltas);
+
+        assertEquals(3, service.flushPendingScores());
+
+        verify(userRepository).incrementScores(eq(List.of(first, second)), eq(50), eq(1), eq(50L), eq(100L), eq(50), any(), anyDouble(), anyInt(), any(), any());
+        verify(userRepository).incrementScores(eq(List.of(third)), eq(120), eq(0), eq(0L), eq(0L), eq(0), any(), anyDouble(), anyInt(), any(), any());
+        verify(userDetailsCacheService).evictUsers(deltas.keySet());
+        verify(currentUserService).evict(first);
+        verify(currentUserService).evict(third);
+    }
+
+    @Test
+    void setNewScore_InWriteBehindMode_WhenRacingAFlush_ShouldStillProjectInFlightScore() {
+        ScoreWriteBehindBuffer buffer = new ScoreWriteBehindBuffer(new SimpleMeterRegistry(), true);
+        UserService writeBehindService = new UserService(userRepository, passwordEncoder, quizService, leaderboardRankService,
+                buffer, currentUserService, userDetailsCacheService, sessionRegistry, leaderboardOutboxService);
+        testUser.setScore(500);
+        writeBehindService.setNewScore(testUser, 40);
+
+        // A second submission loads the row before the flush has committed the first delta.
+        User reloaded = User.builder().id(testUser.getId()).score(500).role(UserRole.PLAYER).build();
+        when(userRepository.incrementScores(any(), anyInt(), anyInt(), anyLong(), anyLong(), anyInt(), any(), anyDouble(), anyInt(), any(), any()))
+                .thenAnswer(invocation -> {
+                    writeBehindService.setNewScore(reloaded, 30);
+                    return 1;
+                });
+
+        assertEquals(1, writeBehindService.flushPendingScores());
+
+        assertEquals(570, reloaded.getScore());
+        assertEquals(30, buffer.getPending(testUser.getId()));
+    }
+
+    @Test
+    void flushPendingScores_WhenTransactionRollsBack_ShouldPutDeltasBackToPending() {
+        ScoreWriteBehindBuffer buffer = new ScoreWriteBehindBuffer(new SimpleMeterRegistry(), true);
+        UserService writeBehindService = new UserService(userRepository, passwordEncoder, quizService, leaderboardRankService,
+                buffer, currentUserService, userDetailsCacheService, sessionRegistry, leaderboardOutboxService);
+        testUser.setScore(500);
+        writeBehindService.setNewScore(testUser, 40);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writeBehindService.flushPendingScores();
+            assertEquals(40, buffer.getPending(testUser.getId()));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(40, buffer.getPending(testUser.getId()));
+        assertEquals(Map.of(testUser.getId(), ScoreDelta.ofScore(40)), buffer.drain());
+    }
+
+    @Test
+    void flushPendingScores_WhenNothingPending_ShouldNotTouchDatabase() {
+        when(scoreWriteBehindBuffer.drain()).thenReturn(Map.of());
+
+        assertEquals(0, service.flushPendingScores());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void setNewScore_WhenUserMissing_ShouldThrowAndSkipRankUpdate() {
+        when(userRepository.incrementScores(any(), anyInt(), anyInt(), anyLong(), anyLong(), anyInt(), any(), anyDouble(), anyInt(), any(), any())).thenReturn(0);
+
+        assertThrows(UserNotFoundException.class, () -> service.setNewScore(testUser, 100));
+        verifyNoInteractions(leaderboardRankService);
     }
 
     @Test
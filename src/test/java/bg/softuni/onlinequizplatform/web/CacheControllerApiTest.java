@@ -0,0 +1,67 @@
+package bg.softuni.onlinequizplatform.web;
+
+import bg.softuni.onlinequizplatform.service.CacheInspectionService;
+import bg.softuni.onlinequizplatform.service.CurrentUserService;
+import bg.softuni.onlinequizplatform.web.dto.CacheDetailsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CacheController.class)
+public class CacheControllerApiTest {
+
+    @MockitoBean
+    private CacheInspectionService cacheInspectionService;
+
+    @MockitoBean
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getCaches_withAdminRole_shouldReturnCacheSizesStatsAndEntries() throws Exception {
+        when(cacheInspectionService.getCacheDetails()).thenReturn(List.of(CacheDetailsResponse.builder()
+                .name("quizzesByCategory")
+                .size(1)
+                .hitCount(4)
+                .missCount(1)
+                .hitRate(0.8)
+                .entries(Map.of("HISTORY", "ArrayList[3]"))
+                .build()));
+
+        mockMvc.perform(get("/admin/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("quizzesByCategory"))
+                .andExpect(jsonPath("$[0].size").value(1))
+                .andExpect(jsonPath("$[0].hitRate").value(0.8))
+                .andExpect(jsonPath("$[0].entries.HISTORY").value("ArrayList[3]"));
+    }
+
+    @Test
+    @WithMockUser(roles = "PLAYER")
+    void getCaches_withPlayerRole_shouldNotExposeCaches() throws Exception {
+        mockMvc.perform(get("/admin/caches"));
+
+        verifyNoInteractions(cacheInspectionService);
+    }
+
+    @Test
+    void getCaches_withoutAuthentication_shouldReturn302RedirectToLogin() throws Exception {
+        mockMvc.perform(get("/admin/caches"))
+                .andExpect(status().is3xxRedirection());
+
+        verifyNoInteractions(cacheInspectionService);
+    }
+}
@@ -0,0 +1,77 @@
+package bg.softuni.onlinequizplatform.web;
+
+import bg.softuni.onlinequizplatform.service.CurrentUserService;
+import bg.softuni.onlinequizplatform.service.FlightRecordingService;
+import bg.softuni.onlinequizplatform.web.dto.FlightRecordingResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(FlightRecordingController.class)
+public class FlightRecordingControllerApiTest {
+
+    @MockitoBean
+    private FlightRecordingService flightRecordingService;
+
+    @MockitoBean
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void start_withAdminRole_shouldStartRecording() throws Exception {
+        when(flightRecordingService.start()).thenReturn(FlightRecordingResponse.builder()
+                .running(true)
+                .startedOn(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .build());
+
+        mockMvc.perform(post("/admin/recordings/start").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.running").value(true));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void stop_withAdminRole_shouldReturnRecordingFile() throws Exception {
+        when(flightRecordingService.stop()).thenReturn(FlightRecordingResponse.builder()
+                .running(false)
+                .file("/tmp/quiz-platform-recording.jfr")
+                .build());
+
+        mockMvc.perform(post("/admin/recordings/stop").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.running").value(false))
+                .andExpect(jsonPath("$.file").value("/tmp/quiz-platform-recording.jfr"));
+    }
+
+    @Test
+    @WithMockUser(roles = "PLAYER")
+    void recordings_withPlayerRole_shouldNotBeControllable() throws Exception {
+        mockMvc.perform(get("/admin/recordings"));
+        mockMvc.perform(post("/admin/recordings/start").with(csrf()));
+        mockMvc.perform(post("/admin/recordings/dump").with(csrf()));
+
+        verifyNoInteractions(flightRecordingService);
+    }
+
+    @Test
+    void recordings_withoutAuthentication_shouldRedirectToLogin() throws Exception {
+        mockMvc.perform(get("/admin/recordings"))
+                .andExpect(status().is3xxRedirection());
+
+        verifyNoInteractions(flightRecordingService);
+    }
+}
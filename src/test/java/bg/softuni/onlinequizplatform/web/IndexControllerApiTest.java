@@ -2,17 +2,25 @@ package bg.softuni.onlinequizplatform.web;
 
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 
+import bg.softuni.onlinequizplatform.exception.PasswordHashingUnavailableException;
+import bg.softuni.onlinequizplatform.service.CurrentUserService;
 import bg.softuni.onlinequizplatform.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
 @WebMvcTest(IndexController.class)
 public class IndexControllerApiTest {
+    @MockitoBean
+    private CurrentUserService currentUserService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -41,4 +49,18 @@ public class IndexControllerApiTest {
                 .andExpect(view().name("register"))
                 .andExpect(model().attributeExists("registerRequest"));
     }
+
+    @Test
+    void testRegister_WhenPasswordHashingSaturated_Returns503WithRetryAfter() throws Exception {
+        doThrow(new PasswordHashingUnavailableException("busy", 7)).when(userService).register(any());
+
+        mockMvc.perform(post("/register")
+                        .param("username", "newuser")
+                        .param("password", "123456")
+                        .param("confirmPassword", "123456")
+                        .with(csrf()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "7"))
+                .andExpect(view().name("default-error"));
+    }
 }
@@ -1,9 +1,14 @@
 package bg.softuni.onlinequizplatform.web;
 
 import bg.softuni.onlinequizplatform.client.LeaderboardClient;
-import bg.softuni.onlinequizplatform.model.User;
+import bg.softuni.onlinequizplatform.model.CurrentUserView;
+import bg.softuni.onlinequizplatform.model.RankedScore;
+import bg.softuni.onlinequizplatform.model.TopScoresSnapshot;
 import bg.softuni.onlinequizplatform.model.UserRole;
 import bg.softuni.onlinequizplatform.security.UserData;
+import bg.softuni.onlinequizplatform.service.CurrentUserService;
+import bg.softuni.onlinequizplatform.service.LeaderboardRankService;
+import bg.softuni.onlinequizplatform.service.TopScoresService;
 import bg.softuni.onlinequizplatform.service.UserService;
 import bg.softuni.onlinequizplatform.web.dto.UserScoreResponse;
 import org.junit.jupiter.api.Test;
@@ -18,6 +23,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -33,23 +41,29 @@ public class LeaderboardControllerApiTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private TopScoresService topScoresService;
+
+    @MockitoBean
+    private LeaderboardRankService leaderboardRankService;
+
+    @MockitoBean
+    private CurrentUserService currentUserService;
+
     @Autowired
     private MockMvc mockMvc;
 
-    private User createTestUser() {
-        return User.builder()
-                .id(UUID.randomUUID())
-                .username("testuser")
-                .password("encoded_password")
-                .email("test@example.com")
+    private CurrentUserView stubCurrentUser(UserData userData) {
+        CurrentUserView currentUser = CurrentUserView.builder()
+                .id(userData.getUserId())
+                .username(userData.getUsername())
                 .avatarUrl("https://example.com/avatar.jpg")
-                .role(UserRole.PLAYER)
+                .role(userData.getRole())
                 .score(100)
                 .level(1)
-                .active(true)
-                .createdOn(LocalDateTime.now())
-                .updatedOn(LocalDateTime.now())
                 .build();
+        when(currentUserService.get(userData.getUserId())).thenReturn(currentUser);
+        return currentUser;
     }
 
     private UserData createTestUserData(UUID userId, String username, UserRole role) {
@@ -73,11 +87,19 @@ public class LeaderboardControllerApiTest {
                 .build();
     }
 
+    private TopScoresSnapshot snapshot(List<UserScoreResponse> scores, boolean stale) {
+        return TopScoresSnapshot.builder()
+                .scores(scores)
+                .fetchedOn(LocalDateTime.now())
+                .stale(stale)
+                .build();
+    }
+
     @Test
     void showLeaderboard_withAuthenticatedUser_shouldReturn200OkAndLeaderboardView() throws Exception {
         UUID userId = UUID.randomUUID();
-        User testUser = createTestUser();
         UserData userData = createTestUserData(userId, "testuser", UserRole.PLAYER);
+        CurrentUserView currentUser = stubCurrentUser(userData);
 
         UserScoreResponse topScore1 = createUserScoreResponse(UUID.randomUUID(), "player1", 5000);
         UserScoreResponse topScore2 = createUserScoreResponse(UUID.randomUUID(), "player2", 4500);
@@ -87,52 +109,50 @@ public class LeaderboardControllerApiTest {
         List<UserScoreResponse> topScores = List.of(topScore1, topScore2, topScore3, otherScore);
         List<UserScoreResponse> scoresAfterTopThree = List.of(otherScore);
 
-        when(leaderboardClient.getTopScores()).thenReturn(topScores);
-        when(userService.getById(userId)).thenReturn(testUser);
+        when(topScoresService.getTopScores()).thenReturn(snapshot(topScores, false));
         when(userService.getScoresAfterTopThree(topScores)).thenReturn(scoresAfterTopThree);
 
         mockMvc.perform(get("/leaderboard").with(user(userData)))
                 .andExpect(status().isOk())
                 .andExpect(view().name("leaderboard"))
-                .andExpect(model().attributeExists("topScores", "user", "scoresAfterTopThree"))
+                .andExpect(model().attributeExists("topScores", "currentUser", "scoresAfterTopThree"))
                 .andExpect(model().attribute("topScores", topScores))
-                .andExpect(model().attribute("user", testUser))
+                .andExpect(model().attribute("currentUser", currentUser))
                 .andExpect(model().attribute("scoresAfterTopThree", scoresAfterTopThree));
 
-        verify(leaderboardClient).getTopScores();
-        verify(userService).getById(userId);
+        verify(topScoresService).getTopScores();
+        verify(userService, never()).getById(any());
         verify(userService).getScoresAfterTopThree(topScores);
     }
 
     @Test
     void showLeaderboard_withEmptyLeaderboard_shouldReturn200OkWithEmptyLists() throws Exception {
         UUID userId = UUID.randomUUID();
-        User testUser = createTestUser();
         UserData userData = createTestUserData(userId, "testuser", UserRole.PLAYER);
+        stubCurrentUser(userData);
 
         List<UserScoreResponse> emptyTopScores = List.of();
         List<UserScoreResponse> emptyScoresAfterTopThree = List.of();
 
-        when(leaderboardClient.getTopScores()).thenReturn(emptyTopScores);
-        when(userService.getById(userId)).thenReturn(testUser);
+        when(topScoresService.getTopScores()).thenReturn(snapshot(emptyTopScores, false));
         when(userService.getScoresAfterTopThree(emptyTopScores)).thenReturn(emptyScoresAfterTopThree);
 
         mockMvc.perform(get("/leaderboard").with(user(userData)))
                 .andExpect(status().isOk())
                 .andExpect(view().name("leaderboard"))
-                .andExpect(model().attributeExists("topScores", "user", "scoresAfterTopThree"))
+                .andExpect(model().attributeExists("topScores", "currentUser", "scoresAfterTopThree"))
                 .andExpect(model().attribute("topScores", emptyTopScores))
                 .andExpect(model().attribute("scoresAfterTopThree", emptyScoresAfterTopThree));
 
-        verify(leaderboardClient).getTopScores();
-        verify(userService).getById(userId);
+        verify(topScoresService).getTopScores();
+        verify(userService, never()).getById(any());
     }
 
     @Test
     void showLeaderboard_withOnlyTopThreeScores_shouldReturn200OkWithEmptyScoresAfterTopThree() throws Exception {
         UUID userId = UUID.randomUUID();
-        User testUser = createTestUser();
         UserData userData = createTestUserData(userId, "testuser", UserRole.PLAYER);
+        stubCurrentUser(userData);
 
         UserScoreResponse topScore1 = createUserScoreResponse(UUID.randomUUID(), "player1", 5000);
         UserScoreResponse topScore2 = createUserScoreResponse(UUID.randomUUID(), "player2", 4500);
@@ -141,8 +161,7 @@ public class LeaderboardControllerApiTest {
         List<UserScoreResponse> topScores = List.of(topScore1, topScore2, topScore3);
         List<UserScoreResponse> scoresAfterTopThree = List.of();
 
-        when(leaderboardClient.getTopScores()).thenReturn(topScores);
-        when(userService.getById(userId)).thenReturn(testUser);
+        when(topScoresService.getTopScores()).thenReturn(snapshot(topScores, false));
         when(userService.getScoresAfterTopThree(topScores)).thenReturn(scoresAfterTopThree);
 
         mockMvc.perform(get("/leaderboard").with(user(userData)))
@@ -150,7 +169,66 @@ public class LeaderboardControllerApiTest {
                 .andExpect(view().name("leaderboard"))
                 .andExpect(model().attribute("scoresAfterTopThree", scoresAfterTopThree));
 
-        verify(leaderboardClient).getTopScores();
+        verify(topScoresService).getTopScores();
+    }
+
+    @Test
+    void showLeaderboard_whenLeaderboardServiceFails_shouldServeStaleSnapshotFlaggedAsStale() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UserData userData = createTestUserData(userId, "testuser", UserRole.PLAYER);
+        stubCurrentUser(userData);
+
+        List<UserScoreResponse> topScores = List.of(createUserScoreResponse(UUID.randomUUID(), "player1", 5000));
+
+        when(topScoresService.getTopScores()).thenReturn(snapshot(topScores, true));
+        when(userService.getScoresAfterTopThree(topScores)).thenReturn(List.of());
+
+        mockMvc.perform(get("/leaderboard").with(user(userData)))
+                .andExpect(status().isOk())
+                .andExpect(view().name("leaderboard"))
+                .andExpect(model().attribute("topScores", topScores))
+                .andExpect(model().attribute("topScoresStale", true))
+                .andExpect(content().string(containsString("The leaderboard service is not responding")));
+
+        verifyNoInteractions(leaderboardClient);
+    }
+
+    @Test
+    void showLeaderboard_whenLeaderboardServiceDownOnColdCache_shouldSayRankingsAreUnavailable() throws Exception {
+        UserData userData = createTestUserData(UUID.randomUUID(), "testuser", UserRole.PLAYER);
+        stubCurrentUser(userData);
+
+        when(topScoresService.getTopScores()).thenReturn(TopScoresSnapshot.builder().scores(List.of()).stale(true).build());
+        when(userService.getScoresAfterTopThree(List.of())).thenReturn(List.of());
+
+        mockMvc.perform(get("/leaderboard").with(user(userData)))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("topScoresUpdatedOn", nullValue()))
+                .andExpect(content().string(containsString("Rankings are unavailable right now")))
+                .andExpect(content().string(not(containsString("Showing rankings from"))));
+    }
+
+    @Test
+    void showLeaderboard_showsViewerRankAndNeighbours() throws Exception {
+        UserData userData = createTestUserData(UUID.randomUUID(), "testuser", UserRole.PLAYER);
+        CurrentUserView currentUser = stubCurrentUser(userData);
+
+        List<RankedScore> neighbours = List.of(
+                RankedScore.builder().rank(11).userId(UUID.randomUUID()).username("ahead").avatarUrl("a.png").score(120).build(),
+                RankedScore.builder().rank(12).userId(currentUser.getId()).username("testuser").avatarUrl("b.png").score(100).build(),
+                RankedScore.builder().rank(13).userId(UUID.randomUUID()).username("behind").avatarUrl("c.png").score(90).build());
+
+        when(topScoresService.getTopScores()).thenReturn(snapshot(List.of(), false));
+        when(userService.getScoresAfterTopThree(List.of())).thenReturn(List.of());
+        when(leaderboardRankService.getRank(currentUser.getId())).thenReturn(12);
+        when(leaderboardRankService.getRankedUserCount()).thenReturn(240);
+        when(leaderboardRankService.getNeighbours(currentUser.getId(), 2)).thenReturn(neighbours);
+
+        mockMvc.perform(get("/leaderboard").with(user(userData)))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("myRank", 12))
+                .andExpect(model().attribute("rankNeighbours", neighbours))
+                .andExpect(content().string(containsString("Your Rank: #12 of 240")));
     }
 
     @Test
@@ -158,7 +236,7 @@ public class LeaderboardControllerApiTest {
         mockMvc.perform(get("/leaderboard"))
                 .andExpect(status().is3xxRedirection());
 
-        verifyNoInteractions(leaderboardClient);
+        verifyNoInteractions(topScoresService);
         verifyNoInteractions(userService);
     }
 
@@ -173,6 +251,7 @@ public class LeaderboardControllerApiTest {
                 .andExpect(redirectedUrl("/leaderboard"));
 
         verify(leaderboardClient).deleteAllScores();
+        verify(topScoresService).invalidate();
     }
     @Test
     void deleteAll_withoutAuthentication_shouldReturn302RedirectToLogin() throws Exception {
@@ -198,6 +277,7 @@ public class LeaderboardControllerApiTest {
                 .andExpect(redirectedUrl("/leaderboard"));
 
         verify(leaderboardClient).deleteScore(scoreId);
+        verify(topScoresService).invalidate();
     }
 
     @Test
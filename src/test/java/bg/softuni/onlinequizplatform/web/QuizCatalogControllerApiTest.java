@@ -0,0 +1,77 @@
+package bg.softuni.onlinequizplatform.web;
+
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.QuizPage;
+import bg.softuni.onlinequizplatform.model.QuizSummary;
+import bg.softuni.onlinequizplatform.service.CurrentUserService;
+import bg.softuni.onlinequizplatform.service.QuizCatalogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(QuizCatalogController.class)
+public class QuizCatalogControllerApiTest {
+
+    @MockitoBean
+    private QuizCatalogService quizCatalogService;
+
+    @MockitoBean
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser
+    void getQuizPage_withCursor_shouldReturnNextPageAsJson() throws Exception {
+        when(quizCatalogService.getPage(Category.MUSIC, "abc")).thenReturn(QuizPage.builder()
+                .quizzes(List.of(QuizSummary.builder()
+                        .id(UUID.randomUUID())
+                        .name("Composers")
+                        .category(Category.MUSIC)
+                        .score(100)
+                        .build()))
+                .nextCursor("def")
+                .build());
+
+        mockMvc.perform(get("/quizzes/MUSIC/page").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quizzes[0].name").value("Composers"))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    @WithMockUser
+    void getQuizPage_withMalformedCursor_shouldReturn400() throws Exception {
+        when(quizCatalogService.getPage(any(), any())).thenThrow(new IllegalArgumentException("Malformed quiz cursor"));
+
+        mockMvc.perform(get("/quizzes/MUSIC/page").param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getQuizPage_withUnknownCategory_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/quizzes/SPORTS/page"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(quizCatalogService);
+    }
+
+    @Test
+    void getQuizPage_withoutAuthentication_shouldReturn302RedirectToLogin() throws Exception {
+        mockMvc.perform(get("/quizzes/MUSIC/page"))
+                .andExpect(status().is3xxRedirection());
+    }
+}
@@ -1,10 +1,17 @@
 package bg.softuni.onlinequizplatform.web;
 
+import bg.softuni.onlinequizplatform.model.AnswerKey;
 import bg.softuni.onlinequizplatform.model.Category;
-import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.model.CompiledQuiz;
+import bg.softuni.onlinequizplatform.model.QuizAttempt;
+import bg.softuni.onlinequizplatform.model.QuizPage;
+import bg.softuni.onlinequizplatform.model.QuizSummary;
 import bg.softuni.onlinequizplatform.model.User;
 import bg.softuni.onlinequizplatform.model.UserRole;
 import bg.softuni.onlinequizplatform.security.UserData;
+import bg.softuni.onlinequizplatform.service.CompiledQuizService;
+import bg.softuni.onlinequizplatform.service.CurrentUserService;
+import bg.softuni.onlinequizplatform.service.QuizCatalogService;
 import bg.softuni.onlinequizplatform.service.QuizService;
 import bg.softuni.onlinequizplatform.service.UserService;
 import bg.softuni.onlinequizplatform.web.dto.*;
@@ -17,10 +24,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -40,6 +49,15 @@ public class QuizControllerApiTest {
     @MockitoBean
     private DtoMapperQuiz dtoMapperQuiz;
 
+    @MockitoBean
+    private CompiledQuizService compiledQuizService;
+
+    @MockitoBean
+    private QuizCatalogService quizCatalogService;
+
+    @MockitoBean
+    private CurrentUserService currentUserService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -69,16 +87,14 @@ public class QuizControllerApiTest {
         );
     }
 
-    private Quiz createTestQuiz(Category category) {
-        return Quiz.builder()
+    private QuizSummary createTestQuizSummary(Category category) {
+        return QuizSummary.builder()
                 .id(UUID.randomUUID())
                 .name("Test Quiz")
                 .description("Test Description")
                 .imageUrl("https://example.com/image.jpg")
                 .category(category)
                 .score(100)
-                .createdOn(LocalDateTime.now())
-                .updatedOn(LocalDateTime.now())
                 .build();
     }
 
@@ -115,56 +131,43 @@ public class QuizControllerApiTest {
     }
 
     @Test
-    void getQuizzesPage_withAuthenticatedUser_shouldReturn200OkAndQuizzesView() throws Exception {
-        User testUser = createTestUser();
-        UserData userData = createTestUserData(testUser.getId(), "testuser", UserRole.PLAYER);
+    void getQuizzesPage_withAuthenticatedUser_shouldReturn200OkAndCatalogForEveryCategory() throws Exception {
+        UserData userData = createTestUserData(UUID.randomUUID(), "testuser", UserRole.PLAYER);
 
-        Quiz geographyQuiz = createTestQuiz(Category.GEOGRAPHY);
-        Quiz historyQuiz = createTestQuiz(Category.HISTORY);
-        Quiz musicQuiz = createTestQuiz(Category.MUSIC);
+        EnumMap<Category, QuizPage> catalog = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            catalog.put(category, QuizPage.builder().quizzes(List.of(createTestQuizSummary(category))).build());
+        }
 
-        List<Quiz> geographyQuizzes = List.of(geographyQuiz);
-        List<Quiz> historyQuizzes = List.of(historyQuiz);
-        List<Quiz> musicQuizzes = List.of(musicQuiz);
-
-        when(userService.getByUsername("testuser")).thenReturn(testUser);
-        when(quizService.getAllQuizzesByCategory(Category.GEOGRAPHY)).thenReturn(geographyQuizzes);
-        when(quizService.getAllQuizzesByCategory(Category.HISTORY)).thenReturn(historyQuizzes);
-        when(quizService.getAllQuizzesByCategory(Category.MUSIC)).thenReturn(musicQuizzes);
+        when(quizCatalogService.getCatalog()).thenReturn(catalog);
 
         mockMvc.perform(get("/quizzes").with(user(userData)))
                 .andExpect(status().isOk())
                 .andExpect(view().name("quizzes"))
-                .andExpect(model().attributeExists("quizzesGeography", "quizzesHistory", "quizzesMusic", "user"))
-                .andExpect(model().attribute("quizzesGeography", geographyQuizzes))
-                .andExpect(model().attribute("quizzesHistory", historyQuizzes))
-                .andExpect(model().attribute("quizzesMusic", musicQuizzes))
-                .andExpect(model().attribute("user", testUser));
-
-        verify(userService).getByUsername("testuser");
-        verify(quizService).getAllQuizzesByCategory(Category.GEOGRAPHY);
-        verify(quizService).getAllQuizzesByCategory(Category.HISTORY);
-        verify(quizService).getAllQuizzesByCategory(Category.MUSIC);
+                .andExpect(model().attribute("catalog", catalog))
+                .andExpect(model().attribute("isAdmin", false))
+                .andExpect(content().string(containsString(Category.MUSIC.getDisplayName())));
+
+        verify(quizCatalogService).getCatalog();
+        verifyNoInteractions(userService);
     }
 
     @Test
-    void getQuizzesPage_withEmptyQuizzes_shouldReturn200OkWithEmptyLists() throws Exception {
-        User testUser = createTestUser();
-        UserData userData = createTestUserData(testUser.getId(), "testuser", UserRole.PLAYER);
+    void getQuizzesPage_withAdmin_shouldExposeDeleteControls() throws Exception {
+        UserData userData = createTestUserData(UUID.randomUUID(), "admin", UserRole.ADMIN);
+        EnumMap<Category, QuizPage> catalog = new EnumMap<>(Category.class);
+        catalog.put(Category.GEOGRAPHY, QuizPage.builder()
+                .quizzes(List.of(createTestQuizSummary(Category.GEOGRAPHY)))
+                .nextCursor("next")
+                .build());
 
-        when(userService.getByUsername("testuser")).thenReturn(testUser);
-        when(quizService.getAllQuizzesByCategory(Category.GEOGRAPHY)).thenReturn(List.of());
-        when(quizService.getAllQuizzesByCategory(Category.HISTORY)).thenReturn(List.of());
-        when(quizService.getAllQuizzesByCategory(Category.MUSIC)).thenReturn(List.of());
+        when(quizCatalogService.getCatalog()).thenReturn(catalog);
 
         mockMvc.perform(get("/quizzes").with(user(userData)))
                 .andExpect(status().isOk())
-                .andExpect(view().name("quizzes"))
-                .andExpect(model().attribute("quizzesGeography", List.of()))
-                .andExpect(model().attribute("quizzesHistory", List.of()))
-                .andExpect(model().attribute("quizzesMusic", List.of()));
-
-        verify(quizService, times(3)).getAllQuizzesByCategory(any(Category.class));
+                .andExpect(model().attribute("isAdmin", true))
+                .andExpect(content().string(containsString("bulkDeleteForm")))
+                .andExpect(content().string(containsString("data-next-cursor=\"next\"")));
     }
 
     @Test
@@ -265,12 +268,18 @@ public class QuizControllerApiTest {
         User testUser = createTestUser();
         UserData userData = createTestUserData(testUser.getId(), "testuser", UserRole.PLAYER);
         UUID quizId = UUID.randomUUID();
-        Quiz testQuiz = createTestQuiz(Category.HISTORY);
-        testQuiz.setId(quizId);
+        CompiledQuiz compiledQuiz = CompiledQuiz.builder()
+                .id(quizId)
+                .name("Test Quiz")
+                .category(Category.HISTORY)
+                .score(100)
+                .questions(List.of())
+                .answerKey(AnswerKey.of(100, List.of()))
+                .build();
         NewQuizRequest newQuizRequest = createNewQuizRequest(Category.HISTORY);
 
-        when(quizService.getById(quizId)).thenReturn(Optional.of(testQuiz));
-        when(dtoMapperQuiz.fromQuizToNewQuizRequest(testQuiz)).thenReturn(newQuizRequest);
+        when(compiledQuizService.getCompiledQuiz(quizId)).thenReturn(Optional.of(compiledQuiz));
+        when(dtoMapperQuiz.fromCompiledQuizToNewQuizRequest(compiledQuiz)).thenReturn(newQuizRequest);
 
         mockMvc.perform(get("/quiz/{id}", quizId).with(user(userData)))
                 .andExpect(status().isOk())
@@ -278,8 +287,23 @@ public class QuizControllerApiTest {
                 .andExpect(model().attributeExists("quiz"))
                 .andExpect(model().attribute("quiz", newQuizRequest));
 
-        verify(quizService).getById(quizId);
-        verify(dtoMapperQuiz).fromQuizToNewQuizRequest(testQuiz);
+        verify(compiledQuizService).getCompiledQuiz(quizId);
+        verify(dtoMapperQuiz).fromCompiledQuizToNewQuizRequest(compiledQuiz);
+        verifyNoInteractions(quizService);
+    }
+
+    @Test
+    void getQuizPage_withUnknownId_shouldRenderDefaultErrorView() throws Exception {
+        User testUser = createTestUser();
+        UserData userData = createTestUserData(testUser.getId(), "testuser", UserRole.PLAYER);
+        UUID quizId = UUID.randomUUID();
+
+        when(compiledQuizService.getCompiledQuiz(quizId)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/quiz/{id}", quizId).with(user(userData)))
+                .andExpect(view().name("default-error"));
+
+        verifyNoInteractions(dtoMapperQuiz);
     }
 
     @Test
@@ -289,7 +313,7 @@ public class QuizControllerApiTest {
         mockMvc.perform(get("/quiz/{id}", quizId))
                 .andExpect(status().is3xxRedirection());
 
-        verifyNoInteractions(quizService);
+        verifyNoInteractions(compiledQuizService);
         verifyNoInteractions(dtoMapperQuiz);
     }
 
@@ -324,6 +348,43 @@ public class QuizControllerApiTest {
     }
 
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteQuizzes_withAdminRoleAndSelectedIds_shouldReturn3xxRedirectToQuizzesAndInvokeBulkDeleteService() throws Exception {
+        UUID quizId1 = UUID.randomUUID();
+        UUID quizId2 = UUID.randomUUID();
+
+        mockMvc.perform(delete("/quizzes/delete")
+                        .with(csrf())
+                        .param("ids", quizId1.toString(), quizId2.toString()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/quizzes"));
+
+        verify(quizService).deleteQuizzesByIds(List.of(quizId1, quizId2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteQuizzes_withAdminRoleAndNoSelection_shouldReturn3xxRedirectWithoutDeleting() throws Exception {
+        mockMvc.perform(delete("/quizzes/delete").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/quizzes"));
+
+        verifyNoInteractions(quizService);
+    }
+
+    @Test
+    @WithMockUser(roles = "PLAYER")
+    void deleteQuizzes_withPlayerRole_shouldReturn403AndNotInvokeBulkDeleteService() throws Exception {
+        mockMvc.perform(delete("/quizzes/delete")
+                        .with(csrf())
+                        .param("ids", UUID.randomUUID().toString()))
+                .andExpect(status().isForbidden());
+
+        verify(quizService, never()).deleteQuizzesByIds(any());
+        verifyNoInteractions(quizService);
+    }
+
     @Test
     void deleteQuiz_withoutAuthentication_shouldReturn302RedirectToLogin() throws Exception {
         UUID quizId = UUID.randomUUID();
@@ -345,7 +406,7 @@ public class QuizControllerApiTest {
         NewQuizRequest quizRequest = createNewQuizRequest(Category.HISTORY);
 
         when(userService.getById(userId)).thenReturn(testUser);
-        when(quizService.getQuizEarnedScore(quizRequest)).thenReturn(0);
+        when(quizService.submitQuiz(any(), eq(testUser))).thenReturn(QuizAttempt.builder().score(quizRequest.getScore()).earnedScore(0).build());
 
         MockHttpServletRequestBuilder httpRequest = post("/quiz/submit")
                 .with(user(userData))
@@ -359,8 +420,10 @@ public class QuizControllerApiTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/quizzes"));
 
-        verify(userService).setNewScore(testUser, 0);
         verify(quizService).submitQuiz(any(), eq(testUser));
+        verify(userService).recordQuizResult(testUser, 0, quizRequest.getScore());
+        verify(quizService, never()).getQuizEarnedScore(any());
+        verify(userService, never()).setNewScore(any(), anyInt());
     }
 
     @Test
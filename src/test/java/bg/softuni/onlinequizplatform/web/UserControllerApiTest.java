@@ -1,14 +1,20 @@
 package bg.softuni.onlinequizplatform.web;
 
-import bg.softuni.onlinequizplatform.model.Quiz;
+import bg.softuni.onlinequizplatform.model.Category;
+import bg.softuni.onlinequizplatform.model.CurrentUserView;
+import bg.softuni.onlinequizplatform.model.QuizAttempt;
 import bg.softuni.onlinequizplatform.model.User;
 import bg.softuni.onlinequizplatform.model.UserRole;
 import bg.softuni.onlinequizplatform.security.UserData;
-import bg.softuni.onlinequizplatform.service.QuizService;
+import bg.softuni.onlinequizplatform.service.CurrentUserService;
+import bg.softuni.onlinequizplatform.service.QuizAttemptService;
 import bg.softuni.onlinequizplatform.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -33,7 +39,10 @@ public class UserControllerApiTest {
     private UserService userService;
 
     @MockitoBean
-    private QuizService quizService;
+    private QuizAttemptService quizAttemptService;
+
+    @MockitoBean
+    private CurrentUserService currentUserService;
 
     @Autowired
     private MockMvc mockMvc;
@@ -64,36 +73,69 @@ public class UserControllerApiTest {
         );
     }
 
-    private Quiz createTestQuiz() {
-        return Quiz.builder()
+    private CurrentUserView stubCurrentUser(UserData userData) {
+        CurrentUserView currentUser = CurrentUserView.builder()
+                .id(userData.getUserId())
+                .username(userData.getUsername())
+                .email("test@example.com")
+                .avatarUrl("https://example.com/avatar.jpg")
+                .role(userData.getRole())
+                .score(100)
+                .level(1)
+                .build();
+        when(currentUserService.get(userData.getUserId())).thenReturn(currentUser);
+        return currentUser;
+    }
+
+    private QuizAttempt createTestAttempt() {
+        return QuizAttempt.builder()
                 .id(UUID.randomUUID())
-                .name("Test Quiz")
-                .description("Test Description")
+                .quizId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .quizName("Test Quiz")
+                .category(Category.HISTORY)
                 .score(100)
+                .earnedScore(50)
+                .submittedOn(LocalDateTime.now())
                 .build();
     }
 
     @Test
     void getHomePage_withAuthenticatedUser_shouldReturn200OkAndHomeView() throws Exception {
-        User testUser = createTestUser();
         UserData userData = createTestUserData();
-        List<Quiz> quizzes = List.of(createTestQuiz());
+        CurrentUserView currentUser = stubCurrentUser(userData);
+        Slice<QuizAttempt> attempts = new SliceImpl<>(List.of(createTestAttempt()));
 
-        when(userService.getByUsername("testuser")).thenReturn(testUser);
-        when(userService.getAverageSuccessPercent(testUser)).thenReturn(50);
-        when(quizService.getAllQuizzesByUser(testUser.getId())).thenReturn(quizzes);
+        when(userService.getAverageSuccessPercent(currentUser)).thenReturn(50);
+        when(quizAttemptService.getRecentAttemptsByUser(currentUser.getId(), 0)).thenReturn(attempts);
 
         mockMvc.perform(get("/home").with(user(userData)))
                 .andExpect(status().isOk())
                 .andExpect(view().name("home"))
-                .andExpect(model().attributeExists("user", "averageScore", "quizzes"))
-                .andExpect(model().attribute("user", testUser))
+                .andExpect(model().attributeExists("currentUser", "averageScore", "attempts"))
+                .andExpect(model().attribute("currentUser", currentUser))
                 .andExpect(model().attribute("averageScore", 50))
-                .andExpect(model().attribute("quizzes", quizzes));
+                .andExpect(model().attribute("attempts", attempts));
 
-        verify(userService).getByUsername("testuser");
-        verify(userService).getAverageSuccessPercent(testUser);
-        verify(quizService).getAllQuizzesByUser(testUser.getId());
+        verify(currentUserService).get(userData.getUserId());
+        verify(userService, never()).getByUsername(anyString());
+        verify(userService).getAverageSuccessPercent(currentUser);
+        verify(quizAttemptService).getRecentAttemptsByUser(currentUser.getId(), 0);
+    }
+
+    @Test
+    void getHomePage_withHistoryPage_shouldLoadRequestedSlice() throws Exception {
+        UserData userData = createTestUserData();
+        stubCurrentUser(userData);
+        Slice<QuizAttempt> attempts = new SliceImpl<>(List.of(createTestAttempt()), PageRequest.of(2, 10), true);
+
+        when(quizAttemptService.getRecentAttemptsByUser(userData.getUserId(), 2)).thenReturn(attempts);
+
+        mockMvc.perform(get("/home").param("historyPage", "2").with(user(userData)))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("attempts", attempts));
+
+        verify(quizAttemptService).getRecentAttemptsByUser(userData.getUserId(), 2);
     }
 
     @Test
@@ -102,7 +144,7 @@ public class UserControllerApiTest {
                 .andExpect(status().is3xxRedirection());
 
         verifyNoInteractions(userService);
-        verifyNoInteractions(quizService);
+        verifyNoInteractions(quizAttemptService);
     }
 
     @Test
@@ -224,17 +266,16 @@ public class UserControllerApiTest {
 
     @Test
     void editProfilePage_withAuthenticatedUser_shouldReturn200OkAndEditProfileView() throws Exception {
-        User testUser = createTestUser();
         UserData userData = createTestUserData();
-
-        when(userService.getByUsername("testuser")).thenReturn(testUser);
+        stubCurrentUser(userData);
 
         mockMvc.perform(get("/edit-profile").with(user(userData)))
                 .andExpect(status().isOk())
                 .andExpect(view().name("edit-profile"))
-                .andExpect(model().attributeExists("user", "editProfileRequest"));
+                .andExpect(model().attributeExists("currentUser", "editProfileRequest"));
 
-        verify(userService).getByUsername("testuser");
+        verify(currentUserService).get(userData.getUserId());
+        verifyNoInteractions(userService);
     }
 
     @Test
@@ -247,10 +288,8 @@ public class UserControllerApiTest {
 
     @Test
     void editProfile_withValidData_shouldReturn3xxRedirectToHomeAndInvokeUpdateService() throws Exception {
-        User testUser = createTestUser();
         UserData userData = createTestUserData();
-
-        when(userService.getByUsername("testuser")).thenReturn(testUser);
+        stubCurrentUser(userData);
 
         MockHttpServletRequestBuilder httpRequest = put("/edit-profile")
                 .with(user(userData))
@@ -267,16 +306,13 @@ public class UserControllerApiTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/home"));
 
-        verify(userService).getByUsername("testuser");
         verify(userService).updateProfile(any());
     }
 
     @Test
     void editProfile_withInvalidData_shouldReturn200OkAndEditProfileView() throws Exception {
-        User testUser = createTestUser();
         UserData userData = createTestUserData();
-
-        when(userService.getByUsername("testuser")).thenReturn(testUser);
+        stubCurrentUser(userData);
 
         MockHttpServletRequestBuilder httpRequest = put("/edit-profile")
                 .with(user(userData))
@@ -291,7 +327,6 @@ public class UserControllerApiTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("edit-profile"));
 
-        verify(userService).getByUsername("testuser");
         verify(userService, never()).updateProfile(any());
     }
 
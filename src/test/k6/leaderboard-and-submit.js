@@ -0,0 +1,119 @@
+// Load test for /leaderboard and /quiz/submit, used to compare platform and virtual thread request handling.
+//
+//   k6 run -e VUS=1000 src/test/k6/leaderboard-and-submit.js
+//   k6 run -e VUS=5000 -e DURATION=3m src/test/k6/leaderboard-and-submit.js
+//
+// Half of the virtual users read the leaderboard, the other half keep submitting the same quiz.
+// setup() registers and logs in a pool of USERS players (k6player0001, k6player0002, ...) and every
+// virtual user takes one of their sessions, so submits update different rows in users instead of queueing on one row lock.
+import http from 'k6/http';
+import { check } from 'k6';
+import { parseHTML } from 'k6/html';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000', 10);
+const DURATION = __ENV.DURATION || '2m';
+const USERS = parseInt(__ENV.USERS || String(VUS), 10);
+const USERNAME_PREFIX = __ENV.USERNAME_PREFIX || 'k6player';
+const PASSWORD = __ENV.PASSWORD || 'k6pass';
+
+export const options = {
+    setupTimeout: '10m',
+    scenarios: {
+        leaderboard: {
+            executor: 'constant-vus',
+            exec: 'leaderboard',
+            vus: Math.ceil(VUS / 2),
+            duration: DURATION,
+        },
+        submit: {
+            executor: 'constant-vus',
+            exec: 'submitQuiz',
+            vus: Math.floor(VUS / 2),
+            duration: DURATION,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function hiddenInputs(html, selector) {
+    const fields = {};
+    parseHTML(html).find(`${selector} input[type="hidden"]`).each((_, input) => {
+        fields[input.getAttribute('name')] = input.getAttribute('value') || '';
+    });
+    return fields;
+}
+
+function username(index) {
+    return `${USERNAME_PREFIX}${String(index + 1).padStart(4, '0')}`;
+}
+
+// Each login starts from an empty cookie jar, otherwise it would take over the previous user's session.
+function logIn(name) {
+    const jar = http.cookieJar();
+    jar.clear(BASE_URL);
+
+    const registerForm = hiddenInputs(http.get(`${BASE_URL}/register`).body, 'form');
+    http.post(`${BASE_URL}/register`, Object.assign(registerForm, {
+        username: name,
+        email: `${name}@k6.test`,
+        password: PASSWORD,
+        confirmPassword: PASSWORD,
+    }), { redirects: 0 });
+
+    const loginForm = hiddenInputs(http.get(`${BASE_URL}/login`).body, 'form');
+    const login = http.post(`${BASE_URL}/login`, Object.assign(loginForm, { username: name, password: PASSWORD }), { redirects: 0 });
+    check(login, { 'logged in': (r) => r.status === 302 && !r.headers['Location'].includes('error') });
+
+    return jar.cookiesForURL(BASE_URL).JSESSIONID[0];
+}
+
+// The quiz form carries the CSRF token of the session that loaded it, so every session answers its own copy.
+function answeredQuizForm(quizId) {
+    const form = hiddenInputs(http.get(`${BASE_URL}/quiz/${quizId}`).body, '#quizForm');
+    Object.keys(form)
+        .filter((name) => /^questions\[\d+]\.options\[0]\.isSelected$/.test(name))
+        .forEach((name) => { form[name] = 'true'; });
+    return form;
+}
+
+// Logs the pool in up front, so the test measures request handling rather than BCrypt.
+export function setup() {
+    const players = [];
+    let quizId = __ENV.QUIZ_ID;
+    for (let index = 0; index < USERS; index++) {
+        const session = logIn(username(index));
+
+        if (!quizId) {
+            const firstQuizLink = parseHTML(http.get(`${BASE_URL}/quizzes`).body).find('a.start-quiz-btn').first().attr('href');
+            quizId = firstQuizLink.substring(firstQuizLink.lastIndexOf('/') + 1);
+        }
+
+        players.push({ session, form: answeredQuizForm(quizId) });
+    }
+
+    return { players };
+}
+
+function player(data) {
+    return data.players[(__VU - 1) % data.players.length];
+}
+
+function useSession(data) {
+    http.cookieJar().set(BASE_URL, 'JSESSIONID', player(data).session);
+}
+
+export function leaderboard(data) {
+    useSession(data);
+    const response = http.get(`${BASE_URL}/leaderboard`, { tags: { endpoint: 'leaderboard' } });
+    check(response, { 'leaderboard 200': (r) => r.status === 200 });
+}
+
+export function submitQuiz(data) {
+    useSession(data);
+    const response = http.post(`${BASE_URL}/quiz/submit`, player(data).form, { redirects: 0, tags: { endpoint: 'submit' } });
+    check(response, { 'submit redirects to quizzes': (r) => r.status === 302 && r.headers['Location'].endsWith('/quizzes') });
+}